@@ -0,0 +1,49 @@
+package com.finance.tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background Execution Configuration
+ * Defines the bounded worker pools used for work moved off the request path
+ */
+@Configuration
+public class AsyncConfig {
+    
+    /**
+     * Worker pool for coalesced budget recomputation
+     * Rejected submissions are safe: the key stays in the outbox and the sweep retries it
+     */
+    @Bean
+    public ThreadPoolTaskExecutor budgetRecomputeExecutor(
+            @Value("${budget.recompute.workers:2}") int workers,
+            @Value("${budget.recompute.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("budget-recompute-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+    
+    /**
+     * Worker pool for the independent reads of the composite dashboard
+     * When the queue is full a submission is rejected and only that section is left out. Every
+     * busy worker holds a database connection, so workers must stay below the pool size
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${dashboard.workers:8}") int workers,
+            @Value("${dashboard.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        return executor;
+    }
+}
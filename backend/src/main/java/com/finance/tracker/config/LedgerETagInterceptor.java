@@ -0,0 +1,45 @@
+package com.finance.tracker.config;
+
+import com.finance.tracker.service.LedgerVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+
+/**
+ * Conditional GET support for ledger reads
+ *
+ * The ETag combines the user's ledger version with the current date, because several endpoints
+ * (current month budgets, dashboard stats) also depend on "today". A matching If-None-Match is
+ * answered with 304 before the controller, and so before any repository query, runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerETagInterceptor implements HandlerInterceptor {
+    
+    private final LedgerVersionService ledgerVersionService;
+    
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        Object userId = request.getAttribute("userId");
+        if (!HttpMethod.GET.matches(request.getMethod()) || userId == null) {
+            return true;
+        }
+        
+        long version = ledgerVersionService.getVersion(userId.toString());
+        String etag = "\"" + version + "-" + LocalDate.now().toEpochDay() + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        
+        // Sets the ETag header, and a 304 status when the client's copy is current
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,23 @@
+package com.finance.tracker.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC Configuration
+ * Registers request interceptors
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    
+    private final LedgerETagInterceptor ledgerETagInterceptor;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(ledgerETagInterceptor)
+                .addPathPatterns("/transactions/**", "/budgets/**", "/analytics/**", "/sync/**", "/dashboard/**");
+    }
+}
@@ -0,0 +1,39 @@
+package com.finance.tracker.controller;
+
+import com.finance.tracker.dto.PlatformReportResponse;
+import com.finance.tracker.service.PlatformReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+/**
+ * REST Controller for platform-wide reports
+ * Only users listed in admin.user-ids may call it
+ */
+@RestController
+@RequestMapping("/admin/reports")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class AdminReportController {
+    
+    private final PlatformReportService platformReportService;
+    
+    /**
+     * GET /api/admin/reports/platform - Get category volumes, active users and budget utilization across all users
+     */
+    @GetMapping("/platform")
+    public ResponseEntity<PlatformReportResponse> getPlatformReport(
+            @RequestAttribute("userId") String userId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth budgetMonth) {
+        log.info("GET /api/admin/reports/platform - User ID: {}", userId);
+        PlatformReportResponse report = platformReportService.getReport(userId, from, to, budgetMonth);
+        return ResponseEntity.ok(report);
+    }
+}
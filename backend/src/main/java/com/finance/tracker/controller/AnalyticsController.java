@@ -1,15 +1,23 @@
 package com.finance.tracker.controller;
 
+import com.finance.tracker.dto.AnomalyDTO;
 import com.finance.tracker.dto.CategoryAnalyticsDTO;
-import com.finance.tracker.dto.MonthlyAnalyticsDTO;
+import com.finance.tracker.dto.DistributionResponse;
+import com.finance.tracker.dto.ForecastResponse;
+import com.finance.tracker.dto.SeriesResponse;
 import com.finance.tracker.dto.StatsDTO;
+import com.finance.tracker.model.Transaction.TransactionType;
 import com.finance.tracker.service.AnalyticsService;
+import com.finance.tracker.service.AnomalyService;
+import com.finance.tracker.service.ForecastService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -24,6 +32,8 @@ import java.util.List;
 public class AnalyticsController {
     
     private final AnalyticsService analyticsService;
+    private final ForecastService forecastService;
+    private final AnomalyService anomalyService;
     
     /**
      * GET /api/analytics/stats - Get dashboard statistics
@@ -61,24 +71,56 @@ public class AnalyticsController {
     }
     
     /**
-     * GET /api/analytics/monthly/expenses - Get monthly expense analytics
+     * GET /api/analytics/series - Get gap-filled totals per day, week, month, quarter or year
      */
-    @GetMapping("/monthly/expenses")
-    public ResponseEntity<List<MonthlyAnalyticsDTO>> getMonthlyExpenseAnalytics(
+    @GetMapping("/series")
+    public ResponseEntity<SeriesResponse> getSeries(
+            @RequestAttribute("userId") String userId,
+            @RequestParam TransactionType type,
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category) {
+        log.info("GET /api/analytics/series - User ID: {}, type: {}, granularity: {}", userId, type, granularity);
+        SeriesResponse series = analyticsService.getSeries(userId, type, granularity, from, to, category);
+        return ResponseEntity.ok(series);
+    }
+    
+    /**
+     * GET /api/analytics/distribution - Get approximate amount quantiles and a histogram per category
+     */
+    @GetMapping("/distribution")
+    public ResponseEntity<DistributionResponse> getDistribution(
+            @RequestAttribute("userId") String userId,
+            @RequestParam(defaultValue = "EXPENSE") TransactionType type,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer bins) {
+        log.info("GET /api/analytics/distribution - User ID: {}, type: {}", userId, type);
+        DistributionResponse distribution = analyticsService.getDistribution(userId, type, from, to, category, bins);
+        return ResponseEntity.ok(distribution);
+    }
+    
+    /**
+     * GET /api/analytics/forecast - Get rolling averages and end-of-month projections per budget
+     */
+    @GetMapping("/forecast")
+    public ResponseEntity<ForecastResponse> getForecast(
             @RequestAttribute("userId") String userId) {
-        log.info("GET /api/analytics/monthly/expenses - User ID: {}", userId);
-        List<MonthlyAnalyticsDTO> analytics = analyticsService.getMonthlyExpenseAnalytics(userId);
-        return ResponseEntity.ok(analytics);
+        log.info("GET /api/analytics/forecast - User ID: {}", userId);
+        ForecastResponse forecast = forecastService.getForecast(userId);
+        return ResponseEntity.ok(forecast);
     }
     
     /**
-     * GET /api/analytics/monthly/income - Get monthly income analytics
+     * GET /api/analytics/anomalies - Get expenses with unusual amounts or on unusually busy days
      */
-    @GetMapping("/monthly/income")
-    public ResponseEntity<List<MonthlyAnalyticsDTO>> getMonthlyIncomeAnalytics(
+    @GetMapping("/anomalies")
+    public ResponseEntity<List<AnomalyDTO>> getAnomalies(
             @RequestAttribute("userId") String userId) {
-        log.info("GET /api/analytics/monthly/income - User ID: {}", userId);
-        List<MonthlyAnalyticsDTO> analytics = analyticsService.getMonthlyIncomeAnalytics(userId);
-        return ResponseEntity.ok(analytics);
+        log.info("GET /api/analytics/anomalies - User ID: {}", userId);
+        List<AnomalyDTO> anomalies = anomalyService.getAnomalies(userId);
+        return ResponseEntity.ok(anomalies);
     }
 }
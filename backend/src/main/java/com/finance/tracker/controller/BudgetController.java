@@ -3,6 +3,7 @@ package com.finance.tracker.controller;
 import com.finance.tracker.dto.BudgetRequest;
 import com.finance.tracker.dto.BudgetResponse;
 import com.finance.tracker.service.BudgetService;
+import com.finance.tracker.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +25,7 @@ import java.util.List;
 public class BudgetController {
     
     private final BudgetService budgetService;
+    private final IdempotencyService idempotencyService;
     
     /**
      * GET /api/budgets - Get all budgets for the authenticated user
@@ -78,10 +80,12 @@ public class BudgetController {
     @PostMapping
     public ResponseEntity<BudgetResponse> createOrUpdateBudget(
             @RequestAttribute("userId") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody BudgetRequest request) {
         log.info("POST /api/budgets - User ID: {}", userId);
-        BudgetResponse budget = budgetService.createOrUpdateBudget(userId, request);
-        return new ResponseEntity<>(budget, HttpStatus.CREATED);
+        return idempotencyService.execute(userId, idempotencyKey, "POST /budgets", request,
+                BudgetResponse.class,
+                () -> new ResponseEntity<>(budgetService.createOrUpdateBudget(userId, request), HttpStatus.CREATED));
     }
     
     /**
@@ -90,11 +94,13 @@ public class BudgetController {
     @PutMapping("/{id}")
     public ResponseEntity<BudgetResponse> updateBudget(
             @RequestAttribute("userId") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable String id,
             @Valid @RequestBody BudgetRequest request) {
         log.info("PUT /api/budgets/{} - User ID: {}", id, userId);
-        BudgetResponse budget = budgetService.updateBudget(userId, id, request);
-        return ResponseEntity.ok(budget);
+        return idempotencyService.execute(userId, idempotencyKey, "PUT /budgets/" + id, request,
+                BudgetResponse.class,
+                () -> ResponseEntity.ok(budgetService.updateBudget(userId, id, request)));
     }
     
     /**
@@ -103,9 +109,14 @@ public class BudgetController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBudget(
             @RequestAttribute("userId") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable String id) {
         log.info("DELETE /api/budgets/{} - User ID: {}", id, userId);
-        budgetService.deleteBudget(userId, id);
-        return ResponseEntity.noContent().build();
+        return idempotencyService.execute(userId, idempotencyKey, "DELETE /budgets/" + id, null,
+                Void.class,
+                () -> {
+                    budgetService.deleteBudget(userId, id);
+                    return ResponseEntity.noContent().build();
+                });
     }
 }
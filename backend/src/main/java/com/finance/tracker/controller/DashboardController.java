@@ -0,0 +1,33 @@
+package com.finance.tracker.controller;
+
+import com.finance.tracker.dto.DashboardResponse;
+import com.finance.tracker.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the composite dashboard
+ * Replaces the separate stats, categories, series, budgets and transactions requests on page load
+ */
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    
+    /**
+     * GET /api/dashboard - Get every dashboard section in one call
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @RequestAttribute("userId") String userId) {
+        log.info("GET /api/dashboard - User ID: {}", userId);
+        DashboardResponse dashboard = dashboardService.getDashboard(userId);
+        return ResponseEntity.ok(dashboard);
+    }
+}
@@ -0,0 +1,75 @@
+package com.finance.tracker.controller;
+
+import com.finance.tracker.dto.RecurringTransactionRequest;
+import com.finance.tracker.dto.RecurringTransactionResponse;
+import com.finance.tracker.service.RecurringTransactionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for recurring transaction definitions
+ * Handles CRUD operations for schedules such as rent, salary and subscriptions
+ */
+@RestController
+@RequestMapping("/recurring-transactions")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class RecurringTransactionController {
+    
+    private final RecurringTransactionService recurringTransactionService;
+    
+    /**
+     * GET /api/recurring-transactions - Get all recurring definitions for the authenticated user
+     */
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionResponse>> getAllRecurring(
+            @RequestAttribute("userId") String userId) {
+        log.info("GET /api/recurring-transactions - User ID: {}", userId);
+        List<RecurringTransactionResponse> recurring = recurringTransactionService.getAllRecurring(userId);
+        return ResponseEntity.ok(recurring);
+    }
+    
+    /**
+     * POST /api/recurring-transactions - Create a recurring definition
+     */
+    @PostMapping
+    public ResponseEntity<RecurringTransactionResponse> createRecurring(
+            @RequestAttribute("userId") String userId,
+            @Valid @RequestBody RecurringTransactionRequest request) {
+        log.info("POST /api/recurring-transactions - User ID: {}", userId);
+        RecurringTransactionResponse recurring = recurringTransactionService.createRecurring(userId, request);
+        return new ResponseEntity<>(recurring, HttpStatus.CREATED);
+    }
+    
+    /**
+     * PUT /api/recurring-transactions/{id} - Update a recurring definition
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<RecurringTransactionResponse> updateRecurring(
+            @RequestAttribute("userId") String userId,
+            @PathVariable String id,
+            @Valid @RequestBody RecurringTransactionRequest request) {
+        log.info("PUT /api/recurring-transactions/{} - User ID: {}", id, userId);
+        RecurringTransactionResponse recurring = recurringTransactionService.updateRecurring(userId, id, request);
+        return ResponseEntity.ok(recurring);
+    }
+    
+    /**
+     * DELETE /api/recurring-transactions/{id} - Delete a recurring definition
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRecurring(
+            @RequestAttribute("userId") String userId,
+            @PathVariable String id) {
+        log.info("DELETE /api/recurring-transactions/{} - User ID: {}", id, userId);
+        recurringTransactionService.deleteRecurring(userId, id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.finance.tracker.controller;
+
+import com.finance.tracker.dto.SyncResponse;
+import com.finance.tracker.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for incremental client sync
+ * Lets clients pull only what changed since their last sync
+ */
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class SyncController {
+    
+    private final SyncService syncService;
+    
+    /**
+     * GET /api/sync?cursor= - Get records changed or deleted after the given cursor
+     * Omit cursor for a full sync; pass the returned cursor on the next call
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> getChanges(
+            @RequestAttribute("userId") String userId,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /api/sync - User ID: {}, cursor: {}", userId, cursor);
+        SyncResponse response = syncService.getChangesSince(userId, cursor);
+        return ResponseEntity.ok(response);
+    }
+}
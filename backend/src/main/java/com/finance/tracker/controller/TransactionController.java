@@ -1,15 +1,33 @@
 package com.finance.tracker.controller;
 
+import com.finance.tracker.dto.TransactionBatchRequest;
+import com.finance.tracker.dto.TransactionBatchResponse;
+import com.finance.tracker.dto.TransactionImportResponse;
+import com.finance.tracker.dto.TransactionPageResponse;
 import com.finance.tracker.dto.TransactionRequest;
 import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.dto.TransactionSearchResponse;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.service.IdempotencyService;
+import com.finance.tracker.service.TransactionBatchService;
+import com.finance.tracker.service.TransactionExportService;
+import com.finance.tracker.service.TransactionImportService;
+import com.finance.tracker.service.TransactionSearchService;
 import com.finance.tracker.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -24,6 +42,11 @@ import java.util.List;
 public class TransactionController {
     
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionBatchService transactionBatchService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionSearchService transactionSearchService;
     
     /**
      * GET /api/transactions - Get all transactions for the authenticated user
@@ -36,6 +59,60 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
     
+    /**
+     * GET /api/transactions/page - Get a page of transactions using a continuation cursor
+     */
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPageResponse> getTransactionsPage(
+            @RequestAttribute("userId") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /api/transactions/page - User ID: {}", userId);
+        TransactionPageResponse page = transactionService.getTransactionsPage(
+                userId, cursor, limit, type, category, from, to);
+        return ResponseEntity.ok(page);
+    }
+    
+    /**
+     * GET /api/transactions/search?q= - Ranked search over description and category
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TransactionSearchResponse> searchTransactions(
+            @RequestAttribute("userId") String userId,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        log.info("GET /api/transactions/search - User ID: {}", userId);
+        TransactionSearchResponse results = transactionSearchService.search(userId, query, page, size);
+        return ResponseEntity.ok(results);
+    }
+    
+    /**
+     * GET /api/transactions/export - Stream the full ledger as NDJSON (default) or CSV
+     */
+    @GetMapping("/export")
+    public void exportTransactions(
+            @RequestAttribute("userId") String userId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        log.info("GET /api/transactions/export - User ID: {}, format: {}", userId, format);
+        if ("csv".equalsIgnoreCase(format)) {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions.csv\"");
+            transactionExportService.exportCsv(userId, response.getOutputStream());
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            response.setContentType("application/x-ndjson;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions.ndjson\"");
+            transactionExportService.exportNdjson(userId, response.getOutputStream());
+        } else {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+    
     /**
      * GET /api/transactions/{id} - Get a specific transaction
      */
@@ -54,10 +131,41 @@ public class TransactionController {
     @PostMapping
     public ResponseEntity<TransactionResponse> createTransaction(
             @RequestAttribute("userId") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TransactionRequest request) {
         log.info("POST /api/transactions - User ID: {}", userId);
-        TransactionResponse transaction = transactionService.createTransaction(userId, request);
-        return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+        return idempotencyService.execute(userId, idempotencyKey, "POST /transactions", request,
+                TransactionResponse.class,
+                () -> new ResponseEntity<>(transactionService.createTransaction(userId, request), HttpStatus.CREATED));
+    }
+    
+    /**
+     * POST /api/transactions/batch - Apply an ordered list of create/update/delete operations atomically
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResponse> applyBatch(
+            @RequestAttribute("userId") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody TransactionBatchRequest request) {
+        log.info("POST /api/transactions/batch - User ID: {}", userId);
+        return idempotencyService.execute(userId, idempotencyKey, "POST /transactions/batch", request,
+                TransactionBatchResponse.class,
+                () -> ResponseEntity.ok(transactionBatchService.applyBatch(userId, request)));
+    }
+    
+    /**
+     * POST /api/transactions/import - Bulk import transactions from a CSV file or JSON array
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TransactionImportResponse> importTransactions(
+            @RequestAttribute("userId") String userId,
+            HttpServletRequest request) throws IOException {
+        log.info("POST /api/transactions/import - User ID: {}", userId);
+        TransactionImportResponse result = MediaType.APPLICATION_JSON.isCompatibleWith(
+                MediaType.parseMediaType(request.getContentType()))
+                ? transactionImportService.importJson(userId, request.getInputStream())
+                : transactionImportService.importCsv(userId, request.getInputStream());
+        return ResponseEntity.ok(result);
     }
     
     /**
@@ -66,11 +174,13 @@ public class TransactionController {
     @PutMapping("/{id}")
     public ResponseEntity<TransactionResponse> updateTransaction(
             @RequestAttribute("userId") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable String id,
             @Valid @RequestBody TransactionRequest request) {
         log.info("PUT /api/transactions/{} - User ID: {}", id, userId);
-        TransactionResponse transaction = transactionService.updateTransaction(userId, id, request);
-        return ResponseEntity.ok(transaction);
+        return idempotencyService.execute(userId, idempotencyKey, "PUT /transactions/" + id, request,
+                TransactionResponse.class,
+                () -> ResponseEntity.ok(transactionService.updateTransaction(userId, id, request)));
     }
     
     /**
@@ -79,9 +189,14 @@ public class TransactionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(
             @RequestAttribute("userId") String userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @PathVariable String id) {
         log.info("DELETE /api/transactions/{} - User ID: {}", id, userId);
-        transactionService.deleteTransaction(userId, id);
-        return ResponseEntity.noContent().build();
+        return idempotencyService.execute(userId, idempotencyKey, "DELETE /transactions/" + id, null,
+                Void.class,
+                () -> {
+                    transactionService.deleteTransaction(userId, id);
+                    return ResponseEntity.noContent().build();
+                });
     }
 }
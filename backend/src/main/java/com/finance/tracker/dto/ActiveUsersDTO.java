@@ -0,0 +1,21 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+/**
+ * DTO for Reports - Number of users with at least one transaction in a month
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActiveUsersDTO {
+    
+    private YearMonth month;
+    private long users;
+}
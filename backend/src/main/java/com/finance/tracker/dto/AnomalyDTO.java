@@ -0,0 +1,39 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.util.MoneyJson;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for Analytics - An expense flagged as unusual for its category
+ * AMOUNT anomalies carry typicalAmount, FREQUENCY anomalies dailyCount and typicalDailyCount
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnomalyDTO {
+    
+    private String transactionId;
+    private String category;
+    private LocalDateTime date;
+    @MoneyJson
+    private Long amount;
+    private Kind kind;
+    /**
+     * Standard deviations above the usual value
+     */
+    private double score;
+    @MoneyJson
+    private Long typicalAmount;
+    private Integer dailyCount;
+    private Double typicalDailyCount;
+    
+    public enum Kind {
+        AMOUNT, FREQUENCY
+    }
+}
@@ -1,5 +1,6 @@
 package com.finance.tracker.dto;
 
+import com.finance.tracker.util.MoneyJson;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -24,7 +25,8 @@ public class BudgetRequest {
     
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
-    private Double amount;
+    @MoneyJson
+    private Long amount;
     
     @NotNull(message = "Month is required")
     @Min(value = 1, message = "Month must be between 1 and 12")
@@ -1,10 +1,14 @@
 package com.finance.tracker.dto;
 
+import com.finance.tracker.util.Money;
+import com.finance.tracker.util.MoneyJson;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO for Budget response
  */
@@ -16,10 +20,30 @@ public class BudgetResponse {
     
     private String id;
     private String category;
-    private Double amount;
-    private Double spent;
-    private Double remaining;
+    @MoneyJson
+    private Long amount;
+    @MoneyJson
+    private Long spent;
+    @MoneyJson
+    private Long remaining;
     private Double percentageUsed;
     private Integer month;
     private Integer year;
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Constructor used by JPQL projections; derives remaining and percentage used like Budget does
+     */
+    public BudgetResponse(String id, String category, Long amount, Long spent,
+                          Integer month, Integer year, LocalDateTime updatedAt) {
+        this.id = id;
+        this.category = category;
+        this.amount = amount;
+        this.spent = spent;
+        this.remaining = amount - spent;
+        this.percentageUsed = Money.percentage(spent, amount);
+        this.month = month;
+        this.year = year;
+        this.updatedAt = updatedAt;
+    }
 }
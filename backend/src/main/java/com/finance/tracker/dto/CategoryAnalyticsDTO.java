@@ -1,5 +1,6 @@
 package com.finance.tracker.dto;
 
+import com.finance.tracker.util.MoneyJson;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +16,17 @@ import lombok.NoArgsConstructor;
 public class CategoryAnalyticsDTO {
     
     private String category;
-    private Double amount;
-    private Long count;
+    @MoneyJson
+    private long amount;
+    private long count;
     private Double percentage;
+    
+    /**
+     * Constructor used by JPQL projections; percentage is filled in once the total is known
+     */
+    public CategoryAnalyticsDTO(String category, long amount, long count) {
+        this.category = category;
+        this.amount = amount;
+        this.count = count;
+    }
 }
@@ -0,0 +1,34 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.util.MoneyJson;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for Analytics - Distribution of transaction amounts in one category
+ * Quantiles are approximate within DistributionResponse.relativeError; counts are exact
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryDistributionDTO {
+    
+    private String category;
+    private long count;
+    @MoneyJson
+    private Long min;
+    @MoneyJson
+    private Long median;
+    @MoneyJson
+    private Long p90;
+    @MoneyJson
+    private Long p99;
+    @MoneyJson
+    private Long max;
+    private List<HistogramBinDTO> histogram;
+}
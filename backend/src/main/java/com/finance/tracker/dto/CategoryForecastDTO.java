@@ -0,0 +1,44 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.util.MoneyJson;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for Analytics - Spending pace and end-of-month projection for one budget category
+ * Daily figures are amounts per day
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryForecastDTO {
+    
+    private String category;
+    @MoneyJson
+    private Long budget;
+    @MoneyJson
+    private Long spentToDate;
+    @MoneyJson
+    private Long dailyPace;
+    @MoneyJson
+    private Long dailyTrend;
+    @MoneyJson
+    private Long average7;
+    @MoneyJson
+    private Long average30;
+    @MoneyJson
+    private Long average90;
+    @MoneyJson
+    private Long projectedTotal;
+    @MoneyJson
+    private Long projectedRemaining;
+    private Double projectedPercentage;
+    private Status status;
+    
+    public enum Status {
+        ON_TRACK, AT_RISK, OVER_BUDGET
+    }
+}
@@ -0,0 +1,24 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.model.CustomCategory.CategoryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for CustomCategory response
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryResponse {
+    
+    private String id;
+    private String name;
+    private CategoryType type;
+    private LocalDateTime updatedAt;
+}
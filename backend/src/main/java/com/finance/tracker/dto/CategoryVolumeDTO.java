@@ -0,0 +1,27 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.util.MoneyJson;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+/**
+ * DTO for Reports - Total amount and count of one category and type in one month, across all users
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryVolumeDTO {
+    
+    private YearMonth month;
+    private TransactionType type;
+    private String category;
+    @MoneyJson
+    private long amount;
+    private long count;
+}
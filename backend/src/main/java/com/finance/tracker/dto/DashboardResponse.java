@@ -0,0 +1,27 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the composite dashboard payload
+ * A section that failed or timed out is null and named in failedSections
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardResponse {
+    
+    private StatsDTO stats;
+    private List<CategoryAnalyticsDTO> categories;
+    private SeriesResponse expenseSeries;
+    private SeriesResponse incomeSeries;
+    private List<BudgetResponse> budgets;
+    private TransactionPageResponse recentTransactions;
+    private List<String> failedSections;
+}
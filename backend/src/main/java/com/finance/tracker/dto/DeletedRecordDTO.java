@@ -0,0 +1,23 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.model.DeletedRecord.EntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a deletion reported by the sync endpoint
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeletedRecordDTO {
+    
+    private EntityType type;
+    private String id;
+    private LocalDateTime deletedAt;
+}
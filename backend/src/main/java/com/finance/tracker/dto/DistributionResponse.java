@@ -0,0 +1,29 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.model.Transaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * DTO for Analytics - Amount distributions per category over a range of months
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistributionResponse {
+    
+    private TransactionType type;
+    private YearMonth from;
+    private YearMonth to;
+    /**
+     * Bound on the relative error of every reported quantile, e.g. 0.01 for 1%
+     */
+    private double relativeError;
+    private List<CategoryDistributionDTO> categories;
+}
@@ -0,0 +1,36 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.util.MoneyJson;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the spend-velocity forecast of the current month
+ * Rolling averages are daily amounts over all expenses in windows ending today
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForecastResponse {
+    
+    private LocalDate asOf;
+    private Integer daysElapsed;
+    private Integer daysInMonth;
+    @MoneyJson
+    private Long average7;
+    @MoneyJson
+    private Long average30;
+    @MoneyJson
+    private Long average90;
+    @MoneyJson
+    private Long spentToDate;
+    @MoneyJson
+    private Long projectedTotal;
+    private List<CategoryForecastDTO> categories;
+}
@@ -0,0 +1,23 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.util.MoneyJson;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for Analytics - Number of transactions with an amount from lower to upper, both inclusive
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistogramBinDTO {
+    
+    @MoneyJson
+    private long lower;
+    @MoneyJson
+    private long upper;
+    private long count;
+}
@@ -0,0 +1,28 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * DTO for Reports - Platform-wide activity over a range of months and budget utilization of one month
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlatformReportResponse {
+    
+    private YearMonth from;
+    private YearMonth to;
+    private List<CategoryVolumeDTO> categoryVolumes;
+    private List<ActiveUsersDTO> activeUsers;
+    private YearMonth budgetMonth;
+    private List<UtilizationBinDTO> budgetUtilization;
+    private int shards;
+    private long elapsedMs;
+}
@@ -0,0 +1,55 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.model.RecurringTransaction.Frequency;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.util.MoneyJson;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for creating/updating recurring transaction definitions
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringTransactionRequest {
+    
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @MoneyJson
+    private Long amount;
+    
+    @NotBlank(message = "Description is required")
+    @Size(max = 500, message = "Description must be at most 500 characters")
+    private String description;
+    
+    @NotBlank(message = "Category is required")
+    @Size(max = 100, message = "Category must be at most 100 characters")
+    private String category;
+    
+    @NotNull(message = "Type is required")
+    private TransactionType type;
+    
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+    
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 365, message = "Interval must be at most 365")
+    private Integer interval;
+    
+    @NotNull(message = "Start date is required")
+    private LocalDateTime startDate;
+    
+    private LocalDateTime endDate;
+}
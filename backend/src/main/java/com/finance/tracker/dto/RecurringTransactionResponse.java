@@ -0,0 +1,36 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.model.RecurringTransaction.Frequency;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.util.MoneyJson;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for RecurringTransaction response
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringTransactionResponse {
+    
+    private String id;
+    @MoneyJson
+    private Long amount;
+    private String description;
+    private String category;
+    private TransactionType type;
+    private Frequency frequency;
+    private Integer interval;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private LocalDateTime nextOccurrence;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.util.MoneyJson;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for Analytics - One bucket of a time series
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeriesPointDTO {
+    
+    /**
+     * First day of the bucket
+     */
+    private LocalDate start;
+    @MoneyJson
+    private long amount;
+    private long count;
+}
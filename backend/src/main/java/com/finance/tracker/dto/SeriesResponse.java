@@ -0,0 +1,93 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.model.Transaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DTO for a gap-filled time series of transaction totals
+ * from and to are the first and last day covered, widened to whole buckets
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeriesResponse {
+    
+    private TransactionType type;
+    private Granularity granularity;
+    private String category;
+    private LocalDate from;
+    private LocalDate to;
+    private List<SeriesPointDTO> points;
+    
+    public enum Granularity {
+        DAY, WEEK, MONTH, QUARTER, YEAR;
+        
+        /**
+         * Parse a granularity name case-insensitively
+         */
+        public static Granularity parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Granularity must be one of day, week, month, quarter or year");
+            }
+        }
+        
+        /**
+         * First day of the bucket containing date; weeks start on Monday, as in PostgreSQL
+         */
+        public LocalDate truncate(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+                case QUARTER -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+                case YEAR -> date.withDayOfYear(1);
+            };
+        }
+        
+        /**
+         * Start of the bucket the given number of buckets after bucketStart
+         */
+        public LocalDate plus(LocalDate bucketStart, long buckets) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(buckets);
+                case WEEK -> bucketStart.plusWeeks(buckets);
+                case MONTH -> bucketStart.plusMonths(buckets);
+                case QUARTER -> bucketStart.plusMonths(buckets * 3);
+                case YEAR -> bucketStart.plusYears(buckets);
+            };
+        }
+        
+        /**
+         * Number of buckets between two bucket starts
+         */
+        public long between(LocalDate fromStart, LocalDate toStart) {
+            return switch (this) {
+                case DAY -> ChronoUnit.DAYS.between(fromStart, toStart);
+                case WEEK -> ChronoUnit.WEEKS.between(fromStart, toStart);
+                case MONTH -> ChronoUnit.MONTHS.between(fromStart, toStart);
+                case QUARTER -> ChronoUnit.MONTHS.between(fromStart, toStart) / 3;
+                case YEAR -> ChronoUnit.YEARS.between(fromStart, toStart);
+            };
+        }
+        
+        /**
+         * Field name for PostgreSQL date_trunc
+         */
+        public String sqlUnit() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.finance.tracker.dto;
 
+import com.finance.tracker.util.MoneyJson;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,9 +15,25 @@ import lombok.NoArgsConstructor;
 @Builder
 public class StatsDTO {
     
-    private Double totalIncome;
-    private Double totalExpenses;
-    private Double balance;
-    private Double monthlyIncome;
-    private Double monthlyExpenses;
+    @MoneyJson
+    private Long totalIncome;
+    @MoneyJson
+    private Long totalExpenses;
+    @MoneyJson
+    private Long balance;
+    @MoneyJson
+    private Long monthlyIncome;
+    @MoneyJson
+    private Long monthlyExpenses;
+    
+    /**
+     * Constructor used by JPQL projections; balance is derived from the totals
+     */
+    public StatsDTO(long totalIncome, long totalExpenses, long monthlyIncome, long monthlyExpenses) {
+        this.totalIncome = totalIncome;
+        this.totalExpenses = totalExpenses;
+        this.balance = totalIncome - totalExpenses;
+        this.monthlyIncome = monthlyIncome;
+        this.monthlyExpenses = monthlyExpenses;
+    }
 }
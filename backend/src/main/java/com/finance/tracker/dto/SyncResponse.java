@@ -0,0 +1,27 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for incremental sync: everything that changed after the client's cursor
+ * Clients apply records as upserts and pass the returned cursor on the next call
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResponse {
+    
+    private String cursor;
+    private Boolean hasMore;
+    private Boolean resetRequired;
+    private List<TransactionResponse> transactions;
+    private List<BudgetResponse> budgets;
+    private List<CategoryResponse> categories;
+    private List<DeletedRecordDTO> deleted;
+}
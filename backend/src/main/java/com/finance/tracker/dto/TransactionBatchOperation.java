@@ -0,0 +1,31 @@
+package com.finance.tracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single operation within a transaction batch
+ * CREATE needs transaction, UPDATE needs id and transaction, DELETE needs id
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchOperation {
+    
+    @NotNull(message = "Operation is required")
+    private OperationType op;
+    
+    private String id;
+    
+    @Valid
+    private TransactionRequest transaction;
+    
+    public enum OperationType {
+        CREATE, UPDATE, DELETE
+    }
+}
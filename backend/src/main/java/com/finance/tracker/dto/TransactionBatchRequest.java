@@ -0,0 +1,25 @@
+package com.finance.tracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for an ordered batch of transaction mutations
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchRequest {
+    
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 500, message = "A batch may contain at most 500 operations")
+    private List<@Valid TransactionBatchOperation> operations;
+}
@@ -0,0 +1,22 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the results of a transaction batch, one per operation in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchResponse {
+    
+    private Integer appliedCount;
+    private Integer failedCount;
+    private List<TransactionBatchResult> results;
+}
@@ -0,0 +1,28 @@
+package com.finance.tracker.dto;
+
+import com.finance.tracker.dto.TransactionBatchOperation.OperationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one operation in a transaction batch
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchResult {
+    
+    private Integer index;
+    private OperationType op;
+    private String id;
+    private Status status;
+    private String message;
+    private TransactionResponse transaction;
+    
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID
+    }
+}
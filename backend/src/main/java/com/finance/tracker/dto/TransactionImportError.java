@@ -6,14 +6,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * DTO for Analytics - Monthly data
+ * DTO describing why a single row of a bulk import was rejected
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class MonthlyAnalyticsDTO {
+public class TransactionImportError {
     
-    private String month;
-    private Double amount;
+    private Integer row;
+    private String message;
 }
@@ -0,0 +1,23 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk transaction import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionImportResponse {
+    
+    private Integer totalRows;
+    private Integer importedCount;
+    private Integer failedCount;
+    private List<TransactionImportError> errors;
+}
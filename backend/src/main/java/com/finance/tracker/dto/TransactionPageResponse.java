@@ -0,0 +1,23 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a page of transactions with an opaque continuation cursor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionPageResponse {
+    
+    private List<TransactionResponse> items;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer limit;
+}
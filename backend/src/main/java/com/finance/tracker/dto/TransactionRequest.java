@@ -1,9 +1,11 @@
 package com.finance.tracker.dto;
 
 import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.util.MoneyJson;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,12 +24,15 @@ public class TransactionRequest {
     
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
-    private Double amount;
+    @MoneyJson
+    private Long amount;
     
     @NotBlank(message = "Description is required")
+    @Size(max = 500, message = "Description must be at most 500 characters")
     private String description;
     
     @NotBlank(message = "Category is required")
+    @Size(max = 100, message = "Category must be at most 100 characters")
     private String category;
     
     @NotNull(message = "Type is required")
@@ -1,6 +1,7 @@
 package com.finance.tracker.dto;
 
 import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.util.MoneyJson;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +19,8 @@ import java.time.LocalDateTime;
 public class TransactionResponse {
     
     private String id;
-    private Double amount;
+    @MoneyJson
+    private Long amount;
     private String description;
     private String category;
     private TransactionType type;
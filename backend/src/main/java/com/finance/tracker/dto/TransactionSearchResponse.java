@@ -0,0 +1,24 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a page of ranked transaction search results
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSearchResponse {
+    
+    private String query;
+    private List<TransactionResponse> items;
+    private Integer page;
+    private Integer size;
+    private Boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.finance.tracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for Reports - Number of budgets whose spent percentage is at least fromPercent and below toPercent
+ * fromPercent is null for the first bin and toPercent for the last
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UtilizationBinDTO {
+    
+    private Integer fromPercent;
+    private Integer toPercent;
+    private long budgets;
+}
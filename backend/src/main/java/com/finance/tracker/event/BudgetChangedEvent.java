@@ -0,0 +1,21 @@
+package com.finance.tracker.event;
+
+import lombok.Value;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Published inside the writing database transaction whenever a user's budgets change,
+ * including background recomputation of a budget's spent amount
+ */
+@Value
+public class BudgetChangedEvent {
+    
+    String userId;
+    List<YearMonth> months;
+    
+    public static BudgetChangedEvent of(String userId, Integer month, Integer year) {
+        return new BudgetChangedEvent(userId, List.of(YearMonth.of(year, month)));
+    }
+}
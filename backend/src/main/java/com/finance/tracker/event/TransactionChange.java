@@ -0,0 +1,21 @@
+package com.finance.tracker.event;
+
+import lombok.Value;
+
+/**
+ * A single transaction write: before is null for a create, after is null for a delete
+ */
+@Value
+public class TransactionChange {
+    
+    TransactionSnapshot before;
+    TransactionSnapshot after;
+    
+    public boolean isCreate() {
+        return before == null;
+    }
+    
+    public boolean isDelete() {
+        return after == null;
+    }
+}
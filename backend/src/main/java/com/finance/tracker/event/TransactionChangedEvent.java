@@ -0,0 +1,39 @@
+package com.finance.tracker.event;
+
+import com.finance.tracker.model.Transaction;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published inside the writing database transaction whenever a user's transactions change
+ * Listeners that maintain derived data in the database run synchronously in that transaction;
+ * in-memory listeners should use @TransactionalEventListener so they only see committed writes
+ */
+@Value
+public class TransactionChangedEvent {
+    
+    String userId;
+    List<TransactionChange> changes;
+    
+    public static TransactionChangedEvent created(String userId, Transaction transaction) {
+        return new TransactionChangedEvent(userId,
+                List.of(new TransactionChange(null, TransactionSnapshot.of(transaction))));
+    }
+    
+    public static TransactionChangedEvent createdAll(String userId, List<Transaction> transactions) {
+        return new TransactionChangedEvent(userId, transactions.stream()
+                .map(transaction -> new TransactionChange(null, TransactionSnapshot.of(transaction)))
+                .toList());
+    }
+    
+    public static TransactionChangedEvent updated(String userId, TransactionSnapshot before, Transaction transaction) {
+        return new TransactionChangedEvent(userId,
+                List.of(new TransactionChange(before, TransactionSnapshot.of(transaction))));
+    }
+    
+    public static TransactionChangedEvent deleted(String userId, TransactionSnapshot before) {
+        return new TransactionChangedEvent(userId,
+                List.of(new TransactionChange(before, null)));
+    }
+}
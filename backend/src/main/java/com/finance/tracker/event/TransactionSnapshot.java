@@ -0,0 +1,30 @@
+package com.finance.tracker.event;
+
+import com.finance.tracker.model.Transaction;
+import com.finance.tracker.model.Transaction.TransactionType;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the fields of a Transaction that derived data depends on
+ */
+@Value
+public class TransactionSnapshot {
+    
+    String id;
+    Long amount;
+    String category;
+    TransactionType type;
+    LocalDateTime date;
+    
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getCategory(),
+                transaction.getType(),
+                transaction.getDate()
+        );
+    }
+}
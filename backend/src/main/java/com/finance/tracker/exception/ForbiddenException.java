@@ -0,0 +1,11 @@
+package com.finance.tracker.exception;
+
+/**
+ * Exception thrown when an authenticated user may not access a resource
+ */
+public class ForbiddenException extends RuntimeException {
+    
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package com.finance.tracker.model;
+
+import com.finance.tracker.model.Transaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * AmountSketchBucket Entity - One bucket of the amount distribution sketch of a user's month, type and category
+ * Together the buckets of a (user, period, type, category) form a quantile sketch, see AmountSketch
+ */
+@Entity
+@Table(name = "amount_sketch_buckets",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "type", "period", "category", "bucket"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AmountSketchBucket {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /**
+     * First day of the month the bucket belongs to
+     */
+    @Column(nullable = false)
+    private LocalDate period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    /**
+     * Logarithmic bucket index of the amounts counted
+     */
+    @Column(nullable = false)
+    private Integer bucket;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long count;
+}
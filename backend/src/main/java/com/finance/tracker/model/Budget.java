@@ -1,11 +1,15 @@
 package com.finance.tracker.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.finance.tracker.util.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -29,18 +33,26 @@ import java.time.LocalDateTime;
 public class Budget {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
+    @JdbcTypeCode(SqlTypes.UUID)
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @Column(nullable = false, length = 100)
     private String category;
 
+    /**
+     * Budgeted amount in cents
+     */
     @Column(nullable = false)
-    private Double amount;
+    private Long amount;
 
+    /**
+     * Spent amount in cents
+     */
     @Column(nullable = false)
     @Builder.Default
-    private Double spent = 0.0;
+    private Long spent = 0L;
 
     @Column(nullable = false)
     private Integer month; // 1-12
@@ -65,7 +77,7 @@ public class Budget {
     /**
      * Calculate remaining budget
      */
-    public Double getRemaining() {
+    public Long getRemaining() {
         return amount - spent;
     }
 
@@ -73,6 +85,6 @@ public class Budget {
      * Calculate budget usage percentage
      */
     public Double getPercentageUsed() {
-        return amount > 0 ? (spent / amount) * 100 : 0.0;
+        return Money.percentage(spent, amount);
     }
 }
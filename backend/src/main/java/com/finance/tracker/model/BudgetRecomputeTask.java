@@ -0,0 +1,47 @@
+package com.finance.tracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * BudgetRecomputeTask Entity - Outbox row marking a budget key whose spent amount is stale
+ * Repeated marks for the same key collapse into one row; version increases with every mark
+ */
+@Entity
+@Table(name = "budget_recompute_outbox",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category", "month", "year"}),
+       indexes = {
+           @Index(name = "idx_outbox_marked_at", columnList = "marked_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetRecomputeTask {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "marked_at", nullable = false)
+    private LocalDateTime markedAt;
+}
@@ -0,0 +1,45 @@
+package com.finance.tracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DeletedRecord Entity - Tombstone left behind when a synced record is deleted
+ * Lets clients that sync incrementally learn about deletions
+ */
+@Entity
+@Table(name = "deleted_records", indexes = {
+    @Index(name = "idx_deleted_user_deleted_at", columnList = "user_id,deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeletedRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private String entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public enum EntityType {
+        TRANSACTION, BUDGET, CATEGORY
+    }
+}
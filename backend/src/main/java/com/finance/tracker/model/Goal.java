@@ -1,6 +1,7 @@
 package com.finance.tracker.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.finance.tracker.util.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,12 +34,18 @@ public class Goal {
     @Column(nullable = false, length = 200)
     private String title;
 
+    /**
+     * Target amount in cents
+     */
     @Column(nullable = false)
-    private Double targetAmount;
+    private Long targetAmount;
 
+    /**
+     * Amount saved so far in cents
+     */
     @Column(nullable = false)
     @Builder.Default
-    private Double currentAmount = 0.0;
+    private Long currentAmount = 0L;
 
     @Column(nullable = false)
     private LocalDateTime deadline;
@@ -63,7 +70,7 @@ public class Goal {
     /**
      * Calculate remaining amount to reach goal
      */
-    public Double getRemainingAmount() {
+    public Long getRemainingAmount() {
         return targetAmount - currentAmount;
     }
 
@@ -71,6 +78,6 @@ public class Goal {
      * Calculate goal progress percentage
      */
     public Double getProgressPercentage() {
-        return targetAmount > 0 ? (currentAmount / targetAmount) * 100 : 0.0;
+        return Money.percentage(currentAmount, targetAmount);
     }
 }
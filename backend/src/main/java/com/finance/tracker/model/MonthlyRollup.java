@@ -0,0 +1,55 @@
+package com.finance.tracker.model;
+
+import com.finance.tracker.model.Transaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * MonthlyRollup Entity - Running total and count of a user's transactions per month, type and category
+ * Maintained incrementally by the transaction write path; analytics and budget spent read from it
+ */
+@Entity
+@Table(name = "monthly_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "period", "type", "category"}),
+       indexes = {
+           @Index(name = "idx_rollup_user_type_period", columnList = "user_id,type,period")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /**
+     * First day of the month the totals belong to
+     */
+    @Column(nullable = false)
+    private LocalDate period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    /**
+     * Sum of amounts in cents
+     */
+    @Column(nullable = false)
+    private Long total;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long count;
+}
@@ -0,0 +1,115 @@
+package com.finance.tracker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.finance.tracker.model.Transaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * RecurringTransaction Entity - Definition of a transaction that repeats on a schedule
+ * Occurrences are counted from startDate, so monthly definitions anchored on the 31st
+ * fall on the last day of shorter months without drifting
+ */
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+    @Index(name = "idx_recurring_next_run", columnList = "next_run_at"),
+    @Index(name = "idx_recurring_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    /**
+     * Amount in cents
+     */
+    @Column(nullable = false)
+    private Long amount;
+
+    @Column(nullable = false, length = 500)
+    private String description;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Frequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private Integer interval;
+
+    @Column(nullable = false)
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+
+    /**
+     * Number of occurrences already materialized (or skipped) since startDate
+     */
+    @Column(nullable = false)
+    private Long occurrenceCount;
+
+    /**
+     * Date of the next occurrence to materialize; null once the schedule has ended
+     */
+    private LocalDateTime nextOccurrence;
+
+    /**
+     * When the scheduler should pick up nextOccurrence; spread out from it to avoid load spikes
+     */
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @Column(nullable = false)
+    private Boolean active;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Many-to-One relationship with User
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY, YEARLY;
+
+        /**
+         * Date of the index-th occurrence (0-based) of a schedule starting at start
+         */
+        public LocalDateTime occurrence(LocalDateTime start, int interval, long index) {
+            long steps = index * interval;
+            return switch (this) {
+                case DAILY -> start.plusDays(steps);
+                case WEEKLY -> start.plusWeeks(steps);
+                case MONTHLY -> start.plusMonths(steps);
+                case YEARLY -> start.plusYears(steps);
+            };
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.finance.tracker.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated id as a time-ordered (version 7) UUID
+ * Pair with @JdbcTypeCode(SqlTypes.UUID) and @JavaType(UuidStringJavaType.class)
+ * to keep the id a String in Java while storing it in a native uuid column
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,25 @@
+package com.finance.tracker.model;
+
+import com.finance.tracker.util.TimeOrderedUuid;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate id generator behind {@link TimeOrderedId}
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+    
+    public TimeOrderedIdGenerator() {
+    }
+    
+    public TimeOrderedIdGenerator(TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+    }
+    
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return TimeOrderedUuid.generate().toString();
+    }
+}
@@ -6,6 +6,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -28,11 +31,16 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
+    @JdbcTypeCode(SqlTypes.UUID)
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
+    /**
+     * Amount in cents
+     */
     @Column(nullable = false)
-    private Double amount;
+    private Long amount;
 
     @Column(nullable = false, length = 500)
     private String description;
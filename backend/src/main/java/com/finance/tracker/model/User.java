@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -39,6 +40,12 @@ public class User {
     @Column(nullable = false)
     private String password;
 
+    // Incremented by every transaction or budget write; drives ETags on read endpoints
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long ledgerVersion = 0L;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,29 @@
+package com.finance.tracker.model;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+
+import java.util.UUID;
+
+/**
+ * Maps a String attribute onto a native uuid column
+ * Lets ids stay Strings throughout the code while the database stores 16-byte uuids
+ */
+public class UuidStringJavaType extends StringJavaType {
+    
+    @Override
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value != null && UUID.class.isAssignableFrom(type)) {
+            return type.cast(UUID.fromString(value));
+        }
+        return super.unwrap(value, type, options);
+    }
+    
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return super.wrap(value, options);
+    }
+}
@@ -0,0 +1,90 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.model.AmountSketchBucket;
+import com.finance.tracker.model.Transaction.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for amount distribution sketch buckets
+ * Writers and rebuilds are serialized by the monthly rollup lock, see MonthlyRollupRepository
+ */
+@Repository
+public interface AmountSketchRepository extends JpaRepository<AmountSketchBucket, String> {
+    
+    /**
+     * Add a delta to a bucket count, creating the bucket on first use
+     */
+    @Modifying
+    @Query(value = "INSERT INTO amount_sketch_buckets (id, user_id, period, type, category, bucket, tx_count) " +
+                   "VALUES (:id, :userId, :period, :type, :category, :bucket, :count) " +
+                   "ON CONFLICT (user_id, type, period, category, bucket) " +
+                   "DO UPDATE SET tx_count = amount_sketch_buckets.tx_count + EXCLUDED.tx_count",
+           nativeQuery = true)
+    void applyDelta(
+        @Param("id") String id,
+        @Param("userId") String userId,
+        @Param("period") LocalDate period,
+        @Param("type") String type,
+        @Param("category") String category,
+        @Param("bucket") int bucket,
+        @Param("count") long count
+    );
+    
+    /**
+     * Remove all buckets for a user before a rebuild
+     */
+    @Modifying
+    @Query("DELETE FROM AmountSketchBucket b WHERE b.userId = :userId")
+    int deleteByUser(@Param("userId") String userId);
+    
+    /**
+     * Remove every user's buckets for one month, e.g. when its partition is detached
+     */
+    @Modifying
+    @Query("DELETE FROM AmountSketchBucket b WHERE b.period = :period")
+    int deleteByPeriod(@Param("period") LocalDate period);
+    
+    /**
+     * Bucket counts per category merged over a range of months, optionally for one category
+     * Reads only the sketch rows, never the transactions, however long the range
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT b.category AS category, b.bucket AS bucket, SUM(b.count) AS count " +
+           "FROM AmountSketchBucket b " +
+           "WHERE b.userId = :userId AND b.type = :type AND b.period >= :from AND b.period <= :to " +
+           "AND (:category IS NULL OR b.category = :category) " +
+           "GROUP BY b.category, b.bucket " +
+           "HAVING SUM(b.count) > 0 " +
+           "ORDER BY b.category, b.bucket")
+    List<BucketCount> findMergedBuckets(
+        @Param("userId") String userId,
+        @Param("type") TransactionType type,
+        @Param("from") LocalDate fromPeriod,
+        @Param("to") LocalDate toPeriod,
+        @Param("category") String category
+    );
+    
+    /**
+     * Check whether any sketch buckets exist at all
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM amount_sketch_buckets)", nativeQuery = true)
+    boolean anyExist();
+    
+    interface BucketCount {
+        String getCategory();
+        
+        Integer getBucket();
+        
+        Long getCount();
+    }
+}
@@ -0,0 +1,66 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.model.BudgetRecomputeTask;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the budget recompute outbox
+ */
+@Repository
+public interface BudgetRecomputeTaskRepository extends JpaRepository<BudgetRecomputeTask, String> {
+    
+    /**
+     * Mark a budget key dirty, merging with any pending mark for the same key
+     */
+    @Modifying
+    @Query(value = "INSERT INTO budget_recompute_outbox (id, user_id, category, month, year, version, marked_at) " +
+                   "VALUES (:id, :userId, :category, :month, :year, 0, :markedAt) " +
+                   "ON CONFLICT (user_id, category, month, year) " +
+                   "DO UPDATE SET version = budget_recompute_outbox.version + 1, marked_at = EXCLUDED.marked_at",
+           nativeQuery = true)
+    void markDirty(
+        @Param("id") String id,
+        @Param("userId") String userId,
+        @Param("category") String category,
+        @Param("month") Integer month,
+        @Param("year") Integer year,
+        @Param("markedAt") LocalDateTime markedAt
+    );
+    
+    /**
+     * Find and lock the pending mark for a budget key until the end of the current transaction
+     * Serializes recomputes of one key, so an older spent value can never be saved over a newer one
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM BudgetRecomputeTask t " +
+           "WHERE t.userId = :userId AND t.category = :category AND t.month = :month AND t.year = :year")
+    Optional<BudgetRecomputeTask> findForUpdate(
+        @Param("userId") String userId,
+        @Param("category") String category,
+        @Param("month") Integer month,
+        @Param("year") Integer year
+    );
+    
+    /**
+     * Find the oldest pending marks
+     */
+    List<BudgetRecomputeTask> findAllByOrderByMarkedAtAsc(Pageable pageable);
+    
+    /**
+     * Remove a mark only if nobody re-marked the key since it was read
+     */
+    @Modifying
+    @Query("DELETE FROM BudgetRecomputeTask t WHERE t.id = :id AND t.version = :version")
+    int deleteByIdAndVersion(@Param("id") String id, @Param("version") Long version);
+}
@@ -1,8 +1,13 @@
 package com.finance.tracker.repository;
 
+import com.finance.tracker.dto.BudgetResponse;
 import com.finance.tracker.model.Budget;
+import com.finance.tracker.util.TimeOrderedUuid;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +20,38 @@ import java.util.Optional;
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, String> {
     
+    /**
+     * Find by id, treating a string that is not a UUID as not found instead of failing to bind it
+     */
+    default Optional<Budget> findByIdIfUuid(String id) {
+        return TimeOrderedUuid.isUuid(id) ? findById(id) : Optional.empty();
+    }
+    
+    /**
+     * Constructor expression selecting a BudgetResponse straight from the row
+     */
+    String RESPONSE_PROJECTION = "SELECT new com.finance.tracker.dto.BudgetResponse(" +
+            "b.id, b.category, b.amount, b.spent, b.month, b.year, b.updatedAt) ";
+    
+    /**
+     * Find all budgets for a user as response DTOs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "FROM Budget b WHERE b.user.id = :userId")
+    List<BudgetResponse> findResponsesByUserId(@Param("userId") String userId);
+    
+    /**
+     * Find budgets for a specific month and year as response DTOs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION +
+           "FROM Budget b WHERE b.user.id = :userId AND b.month = :month AND b.year = :year")
+    List<BudgetResponse> findResponsesByUserIdAndMonthAndYear(
+        @Param("userId") String userId,
+        @Param("month") Integer month,
+        @Param("year") Integer year
+    );
+    
     /**
      * Find all budgets for a user
      */
@@ -62,4 +99,5 @@ public interface BudgetRepository extends JpaRepository<Budget, String> {
         @Param("month") Integer month,
         @Param("year") Integer year
     );
+
 }
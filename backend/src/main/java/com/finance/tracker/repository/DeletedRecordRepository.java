@@ -0,0 +1,24 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.model.DeletedRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for DeletedRecord tombstones
+ */
+@Repository
+public interface DeletedRecordRepository extends JpaRepository<DeletedRecord, String> {
+    
+    /**
+     * Remove tombstones older than the retention window
+     */
+    @Modifying
+    @Query("DELETE FROM DeletedRecord d WHERE d.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
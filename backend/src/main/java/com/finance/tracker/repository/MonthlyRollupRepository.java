@@ -0,0 +1,140 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.dto.CategoryAnalyticsDTO;
+import com.finance.tracker.dto.StatsDTO;
+import com.finance.tracker.model.MonthlyRollup;
+import com.finance.tracker.model.Transaction.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for MonthlyRollup totals
+ */
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, String> {
+    
+    /**
+     * Add a delta to a rollup row, creating it on first use
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (id, user_id, period, type, category, total, tx_count) " +
+                   "VALUES (:id, :userId, :period, :type, :category, :total, :count) " +
+                   "ON CONFLICT (user_id, period, type, category) " +
+                   "DO UPDATE SET total = monthly_rollups.total + EXCLUDED.total, " +
+                   "tx_count = monthly_rollups.tx_count + EXCLUDED.tx_count",
+           nativeQuery = true)
+    void applyDelta(
+        @Param("id") String id,
+        @Param("userId") String userId,
+        @Param("period") LocalDate period,
+        @Param("type") String type,
+        @Param("category") String category,
+        @Param("total") long total,
+        @Param("count") long count
+    );
+    
+    /**
+     * Take the per-user rollup lock until the end of the current database transaction
+     * Writers take it shared, so they run concurrently; a rebuild takes it exclusive
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(hashtext('monthly_rollups:' || :userId))",
+           nativeQuery = true)
+    int lockShared(@Param("userId") String userId);
+    
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('monthly_rollups:' || :userId))",
+           nativeQuery = true)
+    int lockExclusive(@Param("userId") String userId);
+    
+    /**
+     * Remove all rollup rows for a user before a rebuild
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.userId = :userId")
+    int deleteByUser(@Param("userId") String userId);
+    
+    /**
+     * Remove every user's rows for one month, e.g. when its partition is detached
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.period = :period")
+    int deleteByPeriod(@Param("period") LocalDate period);
+    
+    /**
+     * Recompute a user's rollup rows from their transactions
+     * Must run after deleteByUser while holding the exclusive lock
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (id, user_id, period, type, category, total, tx_count) " +
+                   "SELECT gen_random_uuid()::text, user_id, date_trunc('month', date)::date, type, category, " +
+                   "SUM(amount), COUNT(*) " +
+                   "FROM transactions WHERE user_id = :userId " +
+                   "GROUP BY user_id, date_trunc('month', date)::date, type, category",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") String userId);
+    
+    /**
+     * Total of a user's transactions of one type and category in one month
+     */
+    @Query("SELECT COALESCE(SUM(r.total), 0L) FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.type = :type AND r.category = :category AND r.period = :period")
+    long sumTotalForCategory(
+        @Param("userId") String userId,
+        @Param("type") TransactionType type,
+        @Param("category") String category,
+        @Param("period") LocalDate period
+    );
+    
+    /**
+     * Dashboard totals in one pass: all-time and current-month income and expenses
+     * Joins from the user, so an unknown user yields no row while a user without transactions yields zeros
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.finance.tracker.dto.StatsDTO(" +
+           "COALESCE(SUM(CASE WHEN r.type = :income AND r.period <= :current THEN r.total ELSE 0L END), 0L), " +
+           "COALESCE(SUM(CASE WHEN r.type = :expense AND r.period <= :current THEN r.total ELSE 0L END), 0L), " +
+           "COALESCE(SUM(CASE WHEN r.type = :income AND r.period = :current THEN r.total ELSE 0L END), 0L), " +
+           "COALESCE(SUM(CASE WHEN r.type = :expense AND r.period = :current THEN r.total ELSE 0L END), 0L)) " +
+           "FROM User u LEFT JOIN MonthlyRollup r ON r.userId = u.id " +
+           "WHERE u.id = :userId " +
+           "GROUP BY u.id")
+    Optional<StatsDTO> getDashboardStats(
+        @Param("userId") String userId,
+        @Param("income") TransactionType income,
+        @Param("expense") TransactionType expense,
+        @Param("current") LocalDate currentPeriod
+    );
+    
+    default Optional<StatsDTO> getDashboardStats(String userId, LocalDate currentPeriod) {
+        return getDashboardStats(userId, TransactionType.INCOME, TransactionType.EXPENSE, currentPeriod);
+    }
+    
+    /**
+     * Category breakdown of one month, largest first
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.finance.tracker.dto.CategoryAnalyticsDTO(r.category, r.total, r.count) " +
+           "FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.type = :type AND r.period = :period AND r.count > 0 " +
+           "ORDER BY r.total DESC")
+    List<CategoryAnalyticsDTO> getCategoryAnalytics(
+        @Param("userId") String userId,
+        @Param("type") TransactionType type,
+        @Param("period") LocalDate period
+    );
+    
+    /**
+     * Check whether any rollup rows exist at all
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM monthly_rollups)", nativeQuery = true)
+    boolean anyExist();
+}
@@ -0,0 +1,42 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.model.RecurringTransaction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for RecurringTransaction definitions
+ */
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, String> {
+    
+    /**
+     * Find all recurring definitions for a user
+     */
+    List<RecurringTransaction> findByUserIdOrderByCreatedAtAsc(String userId);
+    
+    /**
+     * Find and lock a definition until the end of the current transaction
+     * Waits for a scheduler run that holds it, so its occurrence count is read after that run committed
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RecurringTransaction r WHERE r.id = :id")
+    Optional<RecurringTransaction> findByIdForUpdate(@Param("id") String id);
+    
+    /**
+     * Lock a chunk of definitions that are due, skipping rows another scheduler already holds
+     */
+    @Query(value = "SELECT * FROM recurring_transactions " +
+                   "WHERE active = true AND next_run_at <= :now " +
+                   "ORDER BY next_run_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<RecurringTransaction> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,111 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.model.Transaction.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository for platform-wide report aggregates over one range of user ids
+ * Reads the monthly rollups rather than transactions; every query is bounded by user_id so a
+ * shard only touches its slice of the (user_id, ...) indexes
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReportingJdbcRepository {
+    
+    /**
+     * Budget utilization bin edges in percent; bin 0 is below the first edge, bin n at or above the last
+     */
+    public static final int[] UTILIZATION_EDGES = {25, 50, 75, 90, 100, 125};
+    
+    private static final String VOLUME_SQL =
+            "SELECT period, type, category, SUM(total) AS total, SUM(tx_count) AS tx_count " +
+            "FROM monthly_rollups WHERE period >= ? AND period <= ?";
+    
+    private static final String ACTIVE_USERS_SQL =
+            "SELECT period, COUNT(DISTINCT user_id) AS users " +
+            "FROM monthly_rollups WHERE period >= ? AND period <= ? AND tx_count > 0";
+    
+    private static final String UTILIZATION_SQL =
+            "SELECT width_bucket(spent * 100.0 / amount, " +
+            "ARRAY" + Arrays.toString(UTILIZATION_EDGES) + "::numeric[]) AS bin, " +
+            "COUNT(*) AS budgets FROM budgets WHERE year = ? AND month = ? AND amount > 0";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Totals per month, type and category of the users in the range
+     */
+    public void forEachCategoryVolume(UserIdRange users, YearMonth from, YearMonth to, Consumer<CategoryVolume> consumer) {
+        List<Object> args = new ArrayList<>(List.of(from.atDay(1), to.atDay(1)));
+        String sql = VOLUME_SQL + users.predicate(args) + " GROUP BY period, type, category";
+        jdbcTemplate.query(sql, rs -> {
+            consumer.accept(new CategoryVolume(
+                    YearMonth.from(rs.getDate("period").toLocalDate()),
+                    TransactionType.valueOf(rs.getString("type")),
+                    rs.getString("category"),
+                    rs.getLong("total"),
+                    rs.getLong("tx_count")
+            ));
+        }, args.toArray());
+    }
+    
+    /**
+     * Users in the range with at least one transaction, per month
+     */
+    public void forEachActiveUserCount(UserIdRange users, YearMonth from, YearMonth to, Consumer<ActiveUsers> consumer) {
+        List<Object> args = new ArrayList<>(List.of(from.atDay(1), to.atDay(1)));
+        String sql = ACTIVE_USERS_SQL + users.predicate(args) + " GROUP BY period";
+        jdbcTemplate.query(sql, rs -> {
+            consumer.accept(new ActiveUsers(
+                    YearMonth.from(rs.getDate("period").toLocalDate()),
+                    rs.getLong("users")
+            ));
+        }, args.toArray());
+    }
+    
+    /**
+     * Budgets of the users in the range for one month, counted per utilization bin
+     */
+    public long[] countBudgetsByUtilization(UserIdRange users, YearMonth month) {
+        List<Object> args = new ArrayList<>(List.of(month.getYear(), month.getMonthValue()));
+        String sql = UTILIZATION_SQL + users.predicate(args) + " GROUP BY bin";
+        long[] counts = new long[UTILIZATION_EDGES.length + 1];
+        jdbcTemplate.query(sql, rs -> {
+            counts[rs.getInt("bin")] += rs.getLong("budgets");
+        }, args.toArray());
+        return counts;
+    }
+    
+    /**
+     * User ids from from (inclusive) to to (exclusive); a null bound leaves that side open
+     */
+    public record UserIdRange(String from, String to) {
+        
+        private String predicate(List<Object> args) {
+            StringBuilder sql = new StringBuilder();
+            if (from != null) {
+                sql.append(" AND user_id >= ?");
+                args.add(from);
+            }
+            if (to != null) {
+                sql.append(" AND user_id < ?");
+                args.add(to);
+            }
+            return sql.toString();
+        }
+    }
+    
+    public record CategoryVolume(YearMonth month, TransactionType type, String category, long total, long count) {
+    }
+    
+    public record ActiveUsers(YearMonth month, long users) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.dto.BudgetResponse;
+import com.finance.tracker.dto.CategoryResponse;
+import com.finance.tracker.dto.DeletedRecordDTO;
+import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.model.CustomCategory.CategoryType;
+import com.finance.tracker.model.DeletedRecord.EntityType;
+import com.finance.tracker.model.Transaction.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC repository for incremental sync, reading changes in commit order
+ *
+ * Every write to a synced table stamps the row's change_xid with the id of the writing database
+ * transaction (see schema.sql). Changes are read in (change_xid, id) order and only below the
+ * horizon, the oldest transaction id still running: every transaction below it has finished, and
+ * any write still to commit is stamped at or above it, so a position never moves past a change
+ * that is not visible yet.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncJdbcRepository {
+    
+    private static final String HORIZON_SQL =
+            "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+    
+    private static final String TRANSACTIONS_SQL =
+            "SELECT id, amount, description, category, type, date, created_at, updated_at, change_xid " +
+            "FROM transactions WHERE user_id = ? AND change_xid < ?";
+    
+    private static final String BUDGETS_SQL =
+            "SELECT id, category, amount, spent, month, year, updated_at, change_xid " +
+            "FROM budgets WHERE user_id = ? AND change_xid < ?";
+    
+    private static final String CATEGORIES_SQL =
+            "SELECT id, name, type, updated_at, change_xid " +
+            "FROM custom_categories WHERE user_id = ? AND change_xid < ?";
+    
+    private static final String DELETIONS_SQL =
+            "SELECT id, entity_type, entity_id, deleted_at, change_xid " +
+            "FROM deleted_records WHERE user_id = ? AND change_xid < ?";
+    
+    private static final RowMapper<TransactionResponse> TRANSACTION_MAPPER = (rs, rowNum) -> new TransactionResponse(
+            rs.getString("id"),
+            rs.getLong("amount"),
+            rs.getString("description"),
+            rs.getString("category"),
+            TransactionType.valueOf(rs.getString("type")),
+            rs.getObject("date", LocalDateTime.class),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class)
+    );
+    
+    private static final RowMapper<BudgetResponse> BUDGET_MAPPER = (rs, rowNum) -> new BudgetResponse(
+            rs.getString("id"),
+            rs.getString("category"),
+            rs.getLong("amount"),
+            rs.getLong("spent"),
+            rs.getInt("month"),
+            rs.getInt("year"),
+            rs.getObject("updated_at", LocalDateTime.class)
+    );
+    
+    private static final RowMapper<CategoryResponse> CATEGORY_MAPPER = (rs, rowNum) -> new CategoryResponse(
+            rs.getString("id"),
+            rs.getString("name"),
+            CategoryType.valueOf(rs.getString("type")),
+            rs.getObject("updated_at", LocalDateTime.class)
+    );
+    
+    private static final RowMapper<DeletedRecordDTO> DELETION_MAPPER = (rs, rowNum) -> new DeletedRecordDTO(
+            EntityType.valueOf(rs.getString("entity_type")),
+            rs.getString("entity_id"),
+            rs.getObject("deleted_at", LocalDateTime.class)
+    );
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Oldest transaction id still running; changes below it are all committed (or rolled back)
+     * Read it before the changes, so that every change below it is visible to the later queries
+     */
+    public long currentHorizon() {
+        return jdbcTemplate.queryForObject(HORIZON_SQL, Long.class);
+    }
+    
+    /**
+     * Transactions changed after a position and below the horizon, in commit order
+     */
+    public List<Change<TransactionResponse>> findTransactionChanges(String userId, Position after, long horizon, int limit) {
+        return findChanges(TRANSACTIONS_SQL, true, userId, after, horizon, limit, TRANSACTION_MAPPER);
+    }
+    
+    /**
+     * Budgets changed after a position and below the horizon, in commit order
+     */
+    public List<Change<BudgetResponse>> findBudgetChanges(String userId, Position after, long horizon, int limit) {
+        return findChanges(BUDGETS_SQL, true, userId, after, horizon, limit, BUDGET_MAPPER);
+    }
+    
+    /**
+     * Custom categories changed after a position and below the horizon, in commit order
+     */
+    public List<Change<CategoryResponse>> findCategoryChanges(String userId, Position after, long horizon, int limit) {
+        return findChanges(CATEGORIES_SQL, false, userId, after, horizon, limit, CATEGORY_MAPPER);
+    }
+    
+    /**
+     * Tombstones recorded after a position and below the horizon, in commit order
+     */
+    public List<Change<DeletedRecordDTO>> findDeletions(String userId, Position after, long horizon, int limit) {
+        return findChanges(DELETIONS_SQL, false, userId, after, horizon, limit, DELETION_MAPPER);
+    }
+    
+    /**
+     * Helper: Keyset query on (change_xid, id); uuidIds casts the id bound for tables with native uuid ids
+     */
+    private <T> List<Change<T>> findChanges(String baseSql, boolean uuidIds, String userId, Position after,
+                                            long horizon, int limit, RowMapper<T> mapper) {
+        List<Object> args = new ArrayList<>(List.of(userId, horizon));
+        StringBuilder sql = new StringBuilder(baseSql);
+        if (after.id() == null) {
+            sql.append(" AND change_xid >= ?");
+            args.add(after.xid());
+        } else {
+            sql.append(uuidIds ? " AND (change_xid, id) > (?, CAST(? AS uuid))" : " AND (change_xid, id) > (?, ?)");
+            args.add(after.xid());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY change_xid, id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new Change<>(
+                new Position(rs.getLong("change_xid"), rs.getString("id")),
+                mapper.mapRow(rs, rowNum)
+        ), args.toArray());
+    }
+    
+    /**
+     * A point in the change order: after the row (xid, id), or, with a null id, before every row
+     * stamped xid or later
+     */
+    public record Position(long xid, String id) {
+        
+        public static final Position START = new Position(0, null);
+    }
+    
+    public record Change<T>(Position position, T record) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.dto.SeriesPointDTO;
+import com.finance.tracker.dto.SeriesResponse.Granularity;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.model.Transaction;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.util.TimeOrderedUuid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository for bulk Transaction reads and writes
+ * Bypasses the persistence context so large batches don't pile up managed entities
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionJdbcRepository {
+    
+    public static final int BATCH_SIZE = 500;
+    
+    // Rows per round trip for streamed reads; the PostgreSQL driver only honours it inside a transaction
+    private static final int STREAM_FETCH_SIZE = 500;
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (id, amount, description, date, category, type, created_at, updated_at, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_SQL =
+            "UPDATE transactions SET amount = ?, description = ?, date = ?, category = ?, type = ?, updated_at = ? " +
+            "WHERE id = ? AND user_id = ?";
+    
+    private static final String DELETE_SQL = "DELETE FROM transactions WHERE id = ? AND user_id = ?";
+    
+    private static final String LEDGER_SQL =
+            "SELECT id, amount, date, category, type FROM transactions WHERE user_id = ?";
+    
+    // Served in order by idx_user_date
+    private static final String LEDGER_IN_ORDER_SQL =
+            "SELECT id, amount, date, category, type FROM transactions " +
+            "WHERE user_id = ? AND type = ? AND date >= ? ORDER BY date, id";
+    
+    // Range-bounded on (user_id, date), so it reads only the matching slice of idx_user_date and partitions
+    private static final String SERIES_SQL =
+            "SELECT date_trunc(?, date) AS bucket, SUM(amount) AS total, COUNT(*) AS tx_count " +
+            "FROM transactions WHERE user_id = ? AND date >= ? AND date < ? AND type = ?";
+    
+    private static final String DAILY_TOTALS_SQL =
+            "SELECT category, CAST(date AS date) AS day, SUM(amount) AS total " +
+            "FROM transactions WHERE user_id = ? AND date >= ? AND date < ? AND type = ? " +
+            "GROUP BY category, day";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Insert transactions for a user using JDBC batching
+     * Assigns time-ordered ids and audit timestamps to the given objects
+     */
+    public void batchInsert(String userId, List<Transaction> transactions) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Transaction transaction : transactions) {
+            if (transaction.getId() == null) {
+                transaction.setId(TimeOrderedUuid.generate().toString());
+            }
+            transaction.setCreatedAt(now);
+            transaction.setUpdatedAt(now);
+        }
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, BATCH_SIZE, (ps, transaction) -> {
+            ps.setObject(1, UUID.fromString(transaction.getId()));
+            ps.setLong(2, transaction.getAmount());
+            ps.setString(3, transaction.getDescription());
+            ps.setTimestamp(4, Timestamp.valueOf(transaction.getDate()));
+            ps.setString(5, transaction.getCategory());
+            ps.setString(6, transaction.getType().name());
+            ps.setTimestamp(7, Timestamp.valueOf(transaction.getCreatedAt()));
+            ps.setTimestamp(8, Timestamp.valueOf(transaction.getUpdatedAt()));
+            ps.setString(9, userId);
+        });
+    }
+    
+    /**
+     * Update transactions for a user using JDBC batching
+     * Refreshes the updatedAt timestamp on the given objects and returns the ids that matched no row
+     */
+    public Set<String> batchUpdate(String userId, List<Transaction> transactions) {
+        LocalDateTime now = LocalDateTime.now();
+        transactions.forEach(transaction -> transaction.setUpdatedAt(now));
+        
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, transactions, BATCH_SIZE, (ps, transaction) -> {
+            ps.setLong(1, transaction.getAmount());
+            ps.setString(2, transaction.getDescription());
+            ps.setTimestamp(3, Timestamp.valueOf(transaction.getDate()));
+            ps.setString(4, transaction.getCategory());
+            ps.setString(5, transaction.getType().name());
+            ps.setTimestamp(6, Timestamp.valueOf(transaction.getUpdatedAt()));
+            ps.setObject(7, UUID.fromString(transaction.getId()));
+            ps.setString(8, userId);
+        });
+        return unaffected(transactions.stream().map(Transaction::getId).toList(), counts);
+    }
+    
+    /**
+     * Delete transactions for a user using JDBC batching
+     * Returns the ids that matched no row
+     */
+    public Set<String> batchDelete(String userId, List<String> transactionIds) {
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_SQL, transactionIds, BATCH_SIZE, (ps, id) -> {
+            ps.setObject(1, UUID.fromString(id));
+            ps.setString(2, userId);
+        });
+        return unaffected(transactionIds, counts);
+    }
+    
+    /**
+     * Helper: Ids whose statement changed no row; counts come back per chunk of BATCH_SIZE, in order
+     */
+    private static Set<String> unaffected(List<String> ids, int[][] counts) {
+        Set<String> missing = new LinkedHashSet<>();
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == 0) {
+                    missing.add(ids.get(index));
+                }
+                index++;
+            }
+        }
+        return missing;
+    }
+    
+    /**
+     * Stream the analytics-relevant fields of every transaction of a user, without entities
+     */
+    public void forEachLedgerRow(String userId, Consumer<TransactionSnapshot> consumer) {
+        jdbcTemplate.query(LEDGER_SQL, rs -> {
+            consumer.accept(new TransactionSnapshot(
+                    rs.getString("id"),
+                    rs.getLong("amount"),
+                    rs.getString("category"),
+                    TransactionType.valueOf(rs.getString("type")),
+                    rs.getTimestamp("date").toLocalDateTime()
+            ));
+        }, userId);
+    }
+    
+    /**
+     * Stream one type of a user's transactions dated from the given day on, oldest first
+     * Rows are fetched STREAM_FETCH_SIZE at a time when called inside a transaction; outside
+     * one the driver reads the whole result before the first row is handed over
+     */
+    public void forEachInDateOrder(String userId, TransactionType type, LocalDate from,
+                                   Consumer<TransactionSnapshot> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LEDGER_IN_ORDER_SQL);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setString(1, userId);
+            ps.setString(2, type.name());
+            ps.setTimestamp(3, Timestamp.valueOf(from.atStartOfDay()));
+            return ps;
+        }, rs -> {
+            consumer.accept(new TransactionSnapshot(
+                    rs.getString("id"),
+                    rs.getLong("amount"),
+                    rs.getString("category"),
+                    TransactionType.valueOf(rs.getString("type")),
+                    rs.getTimestamp("date").toLocalDateTime()
+            ));
+        });
+    }
+    
+    /**
+     * Totals per bucket for one type in [from, to), optionally for one category
+     * Only buckets with transactions are returned, in order
+     */
+    public List<SeriesPointDTO> aggregateSeries(String userId, TransactionType type, Granularity granularity,
+                                                LocalDate from, LocalDate to, String category) {
+        List<Object> args = new ArrayList<>(List.of(granularity.sqlUnit(), userId,
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()), type.name()));
+        String sql = SERIES_SQL;
+        if (category != null) {
+            sql += " AND category = ?";
+            args.add(category);
+        }
+        sql += " GROUP BY bucket ORDER BY bucket";
+        
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new SeriesPointDTO(
+                rs.getTimestamp("bucket").toLocalDateTime().toLocalDate(),
+                rs.getLong("total"),
+                rs.getLong("tx_count")
+        ), args.toArray());
+    }
+    
+    /**
+     * Totals per category and day for one type in [from, to)
+     */
+    public List<DailyTotal> findDailyTotals(String userId, TransactionType type, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(DAILY_TOTALS_SQL, (rs, rowNum) -> new DailyTotal(
+                rs.getString("category"),
+                rs.getDate("day").toLocalDate(),
+                rs.getLong("total")
+        ), userId, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()), type.name());
+    }
+    
+    public record DailyTotal(String category, LocalDate day, long total) {
+    }
+}
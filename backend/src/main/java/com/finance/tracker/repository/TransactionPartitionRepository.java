@@ -0,0 +1,60 @@
+package com.finance.tracker.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * JDBC repository for the monthly partitions of the transactions table
+ * Partitions are named transactions_pYYYYMM; see schema.sql for the partitioning setup
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionPartitionRepository {
+    
+    public static final String PARTITION_PREFIX = "transactions_p";
+    public static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Create the partition for a month if it does not exist yet
+     * Returns the partition name
+     */
+    public String createPartition(YearMonth month) {
+        return jdbcTemplate.queryForObject("SELECT create_transactions_partition(?)", String.class,
+                Date.valueOf(month.atDay(1)));
+    }
+    
+    /**
+     * List the monthly partitions currently attached to transactions
+     */
+    public List<String> findAttachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass('transactions') AND c.relname LIKE '" + PARTITION_PREFIX + "%' " +
+                "ORDER BY c.relname",
+                String.class);
+    }
+    
+    /**
+     * Detach a month's partition; it stays behind as a standalone table for archiving
+     * Returns false when the partition is not attached
+     */
+    public boolean detachPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT detach_transactions_partition(?)",
+                Boolean.class, Date.valueOf(month.atDay(1))));
+    }
+    
+    /**
+     * Name of the partition holding a month; built only from the month, never from user input
+     */
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
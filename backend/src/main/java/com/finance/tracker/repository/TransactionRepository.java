@@ -1,14 +1,25 @@
 package com.finance.tracker.repository;
 
+import com.finance.tracker.dto.TransactionResponse;
 import com.finance.tracker.model.Transaction;
 import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.util.TimeOrderedUuid;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Transaction entity
@@ -18,83 +29,141 @@ import java.util.List;
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
     
     /**
-     * Find all transactions for a specific user, ordered by date descending
+     * Find by id, treating a string that is not a UUID as not found instead of failing to bind it
      */
-    List<Transaction> findByUserIdOrderByDateDesc(String userId);
+    default Optional<Transaction> findByIdIfUuid(String id) {
+        return TimeOrderedUuid.isUuid(id) ? findById(id) : Optional.empty();
+    }
     
     /**
-     * Find transactions by user and type
+     * Find and lock a transaction for writing, treating a string that is not a UUID as not found
      */
-    List<Transaction> findByUserIdAndType(String userId, TransactionType type);
+    default Optional<Transaction> findByIdForUpdateIfUuid(String id) {
+        return TimeOrderedUuid.isUuid(id) ? findByIdForUpdate(id) : Optional.empty();
+    }
     
     /**
-     * Find transactions by user and date range
+     * Find and lock a transaction until the end of the current transaction
+     * Waits for a concurrent write of the row, so the values read are the committed ones this write replaces
      */
-    List<Transaction> findByUserIdAndDateBetween(String userId, LocalDateTime startDate, LocalDateTime endDate);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id")
+    Optional<Transaction> findByIdForUpdate(@Param("id") String id);
     
     /**
-     * Find transactions by user, category and date range
+     * Constructor expression selecting a TransactionResponse straight from the row,
+     * so listings never hydrate managed entities
      */
-    List<Transaction> findByUserIdAndCategoryAndDateBetween(
-        String userId, 
-        String category, 
-        LocalDateTime startDate, 
-        LocalDateTime endDate
-    );
+    String RESPONSE_PROJECTION = "SELECT new com.finance.tracker.dto.TransactionResponse(" +
+            "t.id, t.amount, t.description, t.category, t.type, t.date, t.createdAt, t.updatedAt) ";
     
     /**
-     * Calculate total amount by user and type within date range
+     * Find all transactions for a specific user as response DTOs, ordered by date descending
      */
-    @Query("SELECT COALESCE(SUM(t.amount), 0.0) FROM Transaction t " +
-           "WHERE t.user.id = :userId AND t.type = :type " +
-           "AND t.date BETWEEN :startDate AND :endDate")
-    Double sumAmountByUserAndTypeAndDateBetween(
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION +
+           "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponse> findResponsesByUserId(@Param("userId") String userId);
+    
+    /**
+     * Find transactions by user and date range as response DTOs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponse> findResponsesByUserIdAndDateBetween(
         @Param("userId") String userId,
-        @Param("type") TransactionType type,
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate
     );
     
     /**
-     * Calculate total amount by user, type, and category within date range
+     * Find the first page of a user's transactions (newest first) for keyset pagination
+     * Optional filters are skipped when null; page size is taken from the pageable.
+     * The date bounds are always required so the planner can prune transactions partitions.
      */
-    @Query("SELECT COALESCE(SUM(t.amount), 0.0) FROM Transaction t " +
-           "WHERE t.user.id = :userId AND t.type = :type AND t.category = :category " +
-           "AND t.date BETWEEN :startDate AND :endDate")
-    Double sumAmountByUserAndTypeAndCategoryAndDateBetween(
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION +
+           "FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "AND (:category IS NULL OR t.category = :category) " +
+           "AND t.date >= :startDate AND t.date <= :endDate " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponse> findFirstPage(
         @Param("userId") String userId,
         @Param("type") TransactionType type,
         @Param("category") String category,
         @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate
+        @Param("endDate") LocalDateTime endDate,
+        Pageable pageable
     );
     
     /**
-     * Get category-wise expenses for analytics
+     * Find the page of a user's transactions that follows the (date, id) cursor position.
+     * Seeks on the (user_id, date) index instead of skipping rows, so every page costs the same.
+     * The redundant t.date <= :cursorDate lets the planner skip partitions past the cursor.
      */
-    @Query("SELECT t.category, SUM(t.amount) as total, COUNT(t) as count " +
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION +
            "FROM Transaction t " +
-           "WHERE t.user.id = :userId AND t.type = :type " +
-           "AND t.date BETWEEN :startDate AND :endDate " +
-           "GROUP BY t.category " +
-           "ORDER BY total DESC")
-    List<Object[]> getCategoryAnalytics(
+           "WHERE t.user.id = :userId " +
+           "AND (t.date < :cursorDate OR (t.date = :cursorDate AND t.id < :cursorId)) " +
+           "AND t.date <= :cursorDate " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "AND (:category IS NULL OR t.category = :category) " +
+           "AND t.date >= :startDate AND t.date <= :endDate " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponse> findPageAfter(
         @Param("userId") String userId,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") String cursorId,
         @Param("type") TransactionType type,
+        @Param("category") String category,
         @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate
+        @Param("endDate") LocalDateTime endDate,
+        Pageable pageable
     );
     
     /**
-     * Get monthly transaction summary
+     * Stream all transactions for a user in date order through a server-side cursor
+     * Must be consumed inside a transaction; rows are fetched in windows of 500
      */
-    @Query("SELECT FUNCTION('TO_CHAR', t.date, 'YYYY-MM') as month, SUM(t.amount) as total " +
-           "FROM Transaction t " +
-           "WHERE t.user.id = :userId AND t.type = :type " +
-           "GROUP BY FUNCTION('TO_CHAR', t.date, 'YYYY-MM') " +
-           "ORDER BY month DESC")
-    List<Object[]> getMonthlyAnalytics(
-        @Param("userId") String userId,
-        @Param("type") TransactionType type
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId ORDER BY t.date ASC, t.id ASC")
+    Stream<Transaction> streamByUserId(@Param("userId") String userId);
+    
+    /**
+     * Find and lock a user's transactions among the given ids in one query
+     * Rows are locked in id order, so two batches touching the same rows cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.id IN :ids ORDER BY t.id")
+    List<Transaction> findByUserIdAndIdInForUpdate(@Param("userId") String userId, @Param("ids") Collection<String> ids);
+    
+    /**
+     * Find transactions by user and type
+     */
+    List<Transaction> findByUserIdAndType(String userId, TransactionType type);
+    
+    /**
+     * Find transactions by user and date range
+     */
+    List<Transaction> findByUserIdAndDateBetween(String userId, LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Find transactions by user, category and date range
+     */
+    List<Transaction> findByUserIdAndCategoryAndDateBetween(
+        String userId, 
+        String category, 
+        LocalDateTime startDate, 
+        LocalDateTime endDate
     );
 }
@@ -0,0 +1,53 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.model.Transaction.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for full-text transaction search
+ * Matches against the generated search_vector column, backed by a (user_id, search_vector) GIN index (see schema.sql)
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionSearchRepository {
+    
+    private static final String SEARCH_SQL =
+            "SELECT t.id, t.amount, t.description, t.category, t.type, t.date, t.created_at, t.updated_at " +
+            "FROM transactions t, to_tsquery('simple', :query) q " +
+            "WHERE t.user_id = :userId AND t.search_vector @@ q " +
+            "ORDER BY ts_rank_cd(t.search_vector, q) DESC, t.date DESC, t.id DESC " +
+            "LIMIT :limit OFFSET :offset";
+    
+    private static final RowMapper<TransactionResponse> ROW_MAPPER = (rs, rowNum) -> new TransactionResponse(
+            rs.getString("id"),
+            rs.getLong("amount"),
+            rs.getString("description"),
+            rs.getString("category"),
+            TransactionType.valueOf(rs.getString("type")),
+            rs.getObject("date", LocalDateTime.class),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class)
+    );
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    /**
+     * Find a user's transactions matching a tsquery, best matches first
+     */
+    public List<TransactionResponse> search(String userId, String tsQuery, int limit, int offset) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("query", tsQuery)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return jdbcTemplate.query(SEARCH_SQL, params, ROW_MAPPER);
+    }
+}
@@ -1,9 +1,14 @@
 package com.finance.tracker.repository;
 
 import com.finance.tracker.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,4 +37,23 @@ public interface UserRepository extends JpaRepository<User, String> {
      * Check if email exists
      */
     boolean existsByEmail(String email);
+    
+    /**
+     * Find user ids after the given id, in id order, for walking all users in pages
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<String> findIdsAfter(@Param("afterId") String afterId, Pageable pageable);
+    
+    /**
+     * Get the current ledger version for a user
+     */
+    @Query("SELECT u.ledgerVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findLedgerVersionById(@Param("userId") String userId);
+    
+    /**
+     * Increment the ledger version for a user
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.ledgerVersion = u.ledgerVersion + 1 WHERE u.id = :userId")
+    int incrementLedgerVersion(@Param("userId") String userId);
 }
@@ -0,0 +1,126 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.HistogramBinDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch of transaction amounts with a relative error bound (DDSketch)
+ *
+ * An amount of x cents is counted in bucket ceil(log_gamma(x)), with gamma = (1 + a) / (1 - a) and
+ * a = RELATIVE_ACCURACY, so bucket i holds the amounts in (gamma^(i-1), gamma^i]. A bucket is
+ * reported as 2 gamma^i / (gamma + 1), which is within a relative error of a of every amount in
+ * it, so a quantile is off from the exact amount at that rank by at most 1% however many amounts
+ * were counted. Counts are exact. Sketches merge by adding bucket counts and forget an amount by
+ * subtracting it, so per-month sketches stay correct under updates and deletes and combine over
+ * any range of months. Amounts from one cent to ten million span under 1,200 buckets.
+ */
+final class AmountSketch {
+    
+    static final double RELATIVE_ACCURACY = 0.01;
+    
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = StrictMath.log(GAMMA);
+    
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    private long total;
+    
+    /**
+     * Bucket an amount in cents is counted in
+     * StrictMath keeps the mapping identical on every JVM, since buckets are persisted
+     */
+    static int bucketOf(long cents) {
+        if (cents <= 1) {
+            return 0;
+        }
+        return (int) StrictMath.ceil(StrictMath.log(cents) / LOG_GAMMA);
+    }
+    
+    /**
+     * Smallest whole amount in cents a bucket can hold
+     */
+    static long lowerBound(int bucket) {
+        return bucket <= 0 ? 1 : (long) StrictMath.floor(StrictMath.pow(GAMMA, bucket - 1)) + 1;
+    }
+    
+    /**
+     * Largest whole amount in cents a bucket can hold
+     */
+    static long upperBound(int bucket) {
+        return bucket <= 0 ? 1 : (long) StrictMath.floor(StrictMath.pow(GAMMA, bucket));
+    }
+    
+    /**
+     * Add count amounts to a bucket; a negative count removes them
+     */
+    void add(int bucket, long count) {
+        long current = counts.getOrDefault(bucket, 0L);
+        long updated = Math.max(current + count, 0);
+        if (updated == 0) {
+            counts.remove(bucket);
+        } else {
+            counts.put(bucket, updated);
+        }
+        total += updated - current;
+    }
+    
+    long count() {
+        return total;
+    }
+    
+    /**
+     * Approximate amount at quantile q in [0, 1], or null when the sketch is empty
+     */
+    Long quantile(double q) {
+        if (total == 0) {
+            return null;
+        }
+        double rank = q * (total - 1);
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            seen += entry.getValue();
+            if (seen > rank) {
+                return valueOf(entry.getKey());
+            }
+        }
+        return valueOf(counts.lastKey());
+    }
+    
+    /**
+     * Counts in up to the given number of bins, evenly spaced on the logarithmic bucket scale
+     * Bin edges fall on bucket edges, so every amount is counted in exactly the bin that contains it
+     */
+    List<HistogramBinDTO> histogram(int bins) {
+        List<HistogramBinDTO> results = new ArrayList<>();
+        if (total == 0) {
+            return results;
+        }
+        int first = counts.firstKey();
+        int last = counts.lastKey();
+        int width = Math.max(1, (last - first + bins) / bins);
+        for (int start = first; start <= last; start += width) {
+            int end = Math.min(start + width - 1, last);
+            long lower = lowerBound(start);
+            long upper = upperBound(end);
+            if (lower > upper) {
+                // The range is narrower than a cent and cannot hold any amount
+                continue;
+            }
+            long binCount = counts.subMap(start, true, end, true).values().stream()
+                    .mapToLong(Long::longValue).sum();
+            results.add(new HistogramBinDTO(lower, upper, binCount));
+        }
+        return results;
+    }
+    
+    /**
+     * Helper: Amount reported for a bucket, kept within the amounts it can hold
+     */
+    private static long valueOf(int bucket) {
+        long estimate = Math.round(2 * StrictMath.pow(GAMMA, bucket) / (GAMMA + 1));
+        return Math.max(lowerBound(bucket), Math.min(estimate, upperBound(bucket)));
+    }
+}
@@ -0,0 +1,131 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.event.BudgetChangedEvent;
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache for per-user analytics and budget reads
+ *
+ * Entries are keyed by user, kind of read and the month and type it covers, so a write evicts
+ * only the entries it can change: a transaction in March drops March's category breakdown and
+ * the stats, and leaves every other month cached. Evictions run
+ * after commit. A load that overlaps a commit cannot leave a stale entry behind, because Caffeine
+ * makes the invalidation wait for the in-flight load of the same key and then removes its result.
+ * Hit and miss counts are published as the cache.* metrics under the name "analytics".
+ */
+@Service
+@Slf4j
+public class AnalyticsCache {
+    
+    public enum Kind {
+        STATS,
+        CATEGORIES,
+        BUDGETS,
+        ALL_BUDGETS
+    }
+    
+    /**
+     * Cache key; month and type are null for reads that do not depend on them
+     * For STATS the month is the current month, which moves the key on rollover
+     */
+    public record Key(String userId, Kind kind, YearMonth month, TransactionType type) {
+    }
+    
+    private final Cache<Key, Object> cache;
+    
+    public AnalyticsCache(MeterRegistry meterRegistry,
+                          @Value("${analytics.cache.max-entries:50000}") long maxEntries,
+                          @Value("${analytics.cache.ttl-minutes:60}") long ttlMinutes) {
+        // Caffeine evicts by W-TinyLFU; the TTL is only a safety net for writes outside the event stream
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "analytics");
+    }
+    
+    /**
+     * Return the cached value for the key, loading it on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        return (T) cache.get(key, k -> loader.get());
+    }
+    
+    /**
+     * Evict the entries a committed transaction write can have changed
+     */
+    @TransactionalEventListener
+    public void afterTransactionsCommitted(TransactionChangedEvent event) {
+        String userId = event.getUserId();
+        YearMonth current = YearMonth.now();
+        Set<Key> keys = new HashSet<>();
+        for (TransactionChange change : event.getChanges()) {
+            collectKeys(keys, userId, current, change.getBefore());
+            collectKeys(keys, userId, current, change.getAfter());
+        }
+        cache.invalidateAll(keys);
+    }
+    
+    /**
+     * Evict the budget lists of the months a committed budget write touched
+     */
+    @TransactionalEventListener
+    public void afterBudgetsCommitted(BudgetChangedEvent event) {
+        String userId = event.getUserId();
+        Set<Key> keys = new HashSet<>();
+        keys.add(new Key(userId, Kind.ALL_BUDGETS, null, null));
+        for (YearMonth month : event.getMonths()) {
+            keys.add(new Key(userId, Kind.BUDGETS, month, null));
+        }
+        cache.invalidateAll(keys);
+    }
+    
+    /**
+     * Evict everything cached for one user, e.g. after their rollup was rebuilt
+     */
+    public void invalidateUser(String userId) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+    
+    /**
+     * Evict everything that covers a month for all users, e.g. after its partition was detached
+     */
+    public void invalidateMonth(YearMonth month) {
+        log.info("Evicting cached analytics covering {}", month);
+        cache.asMap().keySet().removeIf(key -> key.kind() == Kind.STATS || month.equals(key.month()));
+    }
+    
+    /**
+     * Helper: Keys affected by one side of a transaction change
+     */
+    private void collectKeys(Set<Key> keys, String userId, YearMonth current, TransactionSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(snapshot.getDate());
+        keys.add(new Key(userId, Kind.CATEGORIES, month, snapshot.getType()));
+        // Stats only cover months up to the current one
+        if (!month.isAfter(current)) {
+            keys.add(new Key(userId, Kind.STATS, current, null));
+        }
+    }
+}
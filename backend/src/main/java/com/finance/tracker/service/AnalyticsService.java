@@ -1,163 +1,294 @@
 package com.finance.tracker.service;
 
 import com.finance.tracker.dto.CategoryAnalyticsDTO;
-import com.finance.tracker.dto.MonthlyAnalyticsDTO;
+import com.finance.tracker.dto.CategoryDistributionDTO;
+import com.finance.tracker.dto.DistributionResponse;
+import com.finance.tracker.dto.SeriesPointDTO;
+import com.finance.tracker.dto.SeriesResponse;
+import com.finance.tracker.dto.SeriesResponse.Granularity;
 import com.finance.tracker.dto.StatsDTO;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.Transaction.TransactionType;
-import com.finance.tracker.repository.TransactionRepository;
+import com.finance.tracker.repository.AmountSketchRepository;
+import com.finance.tracker.repository.AmountSketchRepository.BucketCount;
+import com.finance.tracker.repository.MonthlyRollupRepository;
+import com.finance.tracker.repository.TransactionJdbcRepository;
 import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.util.Money;
+import com.finance.tracker.service.AnalyticsCache.Key;
+import com.finance.tracker.service.AnalyticsCache.Kind;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service layer for Analytics and Statistics
+ * All figures are read from the monthly rollup table rather than aggregated from transactions and
+ * cached in AnalyticsCache. SUPPORTS keeps a cache hit from opening a transaction and borrowing a
+ * connection; on a miss each query runs in its own read-only repository transaction.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
+@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 public class AnalyticsService {
     
-    private final TransactionRepository transactionRepository;
+    public static final int DEFAULT_SERIES_BUCKETS = 12;
+    public static final int MAX_SERIES_BUCKETS = 366;
+    public static final int DEFAULT_DISTRIBUTION_MONTHS = 12;
+    public static final int DEFAULT_HISTOGRAM_BINS = 10;
+    public static final int MAX_HISTOGRAM_BINS = 50;
+    
+    private final MonthlyRollupRepository rollupRepository;
+    private final AmountSketchRepository sketchRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
     private final UserRepository userRepository;
+    private final AnalyticsCache analyticsCache;
+    private final ColumnarAnalyticsEngine columnarEngine;
     
     /**
      * Get dashboard statistics
+     * A miss costs one query, which also checks the user exists
      */
     public StatsDTO getDashboardStats(String userId) {
+        return dashboardStats(userId, true);
+    }
+    
+    /**
+     * Dashboard section: getDashboardStats for a user the caller has already verified
+     */
+    public StatsDTO getDashboardStatsForVerifiedUser(String userId) {
+        return dashboardStats(userId, false);
+    }
+    
+    private StatsDTO dashboardStats(String userId, boolean verifyUser) {
         log.info("Fetching dashboard stats for user: {}", userId);
         
-        verifyUserExists(userId);
-        
-        LocalDateTime now = LocalDateTime.now();
-        YearMonth currentMonth = YearMonth.from(now);
-        LocalDateTime monthStart = currentMonth.atDay(1).atStartOfDay();
-        LocalDateTime monthEnd = currentMonth.atEndOfMonth().atTime(23, 59, 59);
-        
-        // Calculate total income (all time)
-        Double totalIncome = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
-                userId, TransactionType.INCOME, LocalDateTime.of(2000, 1, 1, 0, 0), now
-        );
-        
-        // Calculate total expenses (all time)
-        Double totalExpenses = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
-                userId, TransactionType.EXPENSE, LocalDateTime.of(2000, 1, 1, 0, 0), now
-        );
-        
-        // Calculate monthly income
-        Double monthlyIncome = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
-                userId, TransactionType.INCOME, monthStart, monthEnd
-        );
-        
-        // Calculate monthly expenses
-        Double monthlyExpenses = transactionRepository.sumAmountByUserAndTypeAndDateBetween(
-                userId, TransactionType.EXPENSE, monthStart, monthEnd
-        );
-        
-        // Handle null values
-        totalIncome = (totalIncome != null) ? totalIncome : 0.0;
-        totalExpenses = (totalExpenses != null) ? totalExpenses : 0.0;
-        monthlyIncome = (monthlyIncome != null) ? monthlyIncome : 0.0;
-        monthlyExpenses = (monthlyExpenses != null) ? monthlyExpenses : 0.0;
-        
-        Double balance = totalIncome - totalExpenses;
-        
-        return StatsDTO.builder()
-                .totalIncome(totalIncome)
-                .totalExpenses(totalExpenses)
-                .balance(balance)
-                .monthlyIncome(monthlyIncome)
-                .monthlyExpenses(monthlyExpenses)
-                .build();
+        YearMonth current = YearMonth.now();
+        return analyticsCache.get(new Key(userId, Kind.STATS, current, null), () -> fromEngineOrSql(
+                "stats", userId, Function.identity(),
+                () -> {
+                    if (verifyUser) {
+                        verifyUserExists(userId);
+                    }
+                    return columnarEngine.getStats(userId, current);
+                },
+                () -> rollupRepository.getDashboardStats(userId, MonthlyRollupService.periodOf(current))
+                        .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId))));
     }
     
     /**
      * Get category analytics for expenses
      */
     public List<CategoryAnalyticsDTO> getCategoryAnalytics(String userId, Integer month, Integer year) {
-        log.info("Fetching category analytics for user {} for {}/{}", userId, month, year);
-        
-        verifyUserExists(userId);
-        
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-        
-        List<Object[]> results = transactionRepository.getCategoryAnalytics(
-                userId, TransactionType.EXPENSE, startDate, endDate
-        );
-        
-        // Calculate total for percentage
-        Double total = results.stream()
-                .mapToDouble(r -> ((Number) r[1]).doubleValue())
-                .sum();
-        
-        return results.stream()
-                .map(result -> CategoryAnalyticsDTO.builder()
-                        .category((String) result[0])
-                        .amount(((Number) result[1]).doubleValue())
-                        .count(((Number) result[2]).longValue())
-                        .percentage(total > 0 ? (((Number) result[1]).doubleValue() / total) * 100 : 0.0)
-                        .build())
-                .collect(Collectors.toList());
+        return categoryAnalytics(userId, YearMonth.of(year, month), true);
     }
     
     /**
      * Get current month category analytics
      */
     public List<CategoryAnalyticsDTO> getCurrentMonthCategoryAnalytics(String userId) {
-        LocalDateTime now = LocalDateTime.now();
-        return getCategoryAnalytics(userId, now.getMonthValue(), now.getYear());
+        return categoryAnalytics(userId, YearMonth.now(), true);
     }
     
     /**
-     * Get monthly analytics for expenses (last 12 months)
+     * Dashboard section: getCurrentMonthCategoryAnalytics for a user the caller has already verified
      */
-    public List<MonthlyAnalyticsDTO> getMonthlyExpenseAnalytics(String userId) {
-        log.info("Fetching monthly expense analytics for user: {}", userId);
+    public List<CategoryAnalyticsDTO> getCurrentMonthCategoryAnalyticsForVerifiedUser(String userId) {
+        return categoryAnalytics(userId, YearMonth.now(), false);
+    }
+    
+    private List<CategoryAnalyticsDTO> categoryAnalytics(String userId, YearMonth yearMonth, boolean verifyUser) {
+        log.info("Fetching category analytics for user {} for {}", userId, yearMonth);
         
-        verifyUserExists(userId);
+        return analyticsCache.get(new Key(userId, Kind.CATEGORIES, yearMonth, TransactionType.EXPENSE), () -> {
+            if (verifyUser) {
+                verifyUserExists(userId);
+            }
+            
+            // Ties on amount may come back in either order, so compare as sets
+            List<CategoryAnalyticsDTO> results = fromEngineOrSql(
+                    "categories " + yearMonth, userId, HashSet::new,
+                    () -> columnarEngine.getCategoryAnalytics(userId, yearMonth, TransactionType.EXPENSE),
+                    () -> rollupRepository.getCategoryAnalytics(
+                            userId, TransactionType.EXPENSE, MonthlyRollupService.periodOf(yearMonth))
+            );
+            
+            // Calculate total for percentage; plain loops over primitive cents, no boxing
+            long total = 0;
+            for (CategoryAnalyticsDTO result : results) {
+                total += result.getAmount();
+            }
+            for (CategoryAnalyticsDTO result : results) {
+                result.setPercentage(Money.percentage(result.getAmount(), total));
+            }
+            return results;
+        });
+    }
+    
+    /**
+     * Get totals per bucket for one type over a date range, with empty buckets filled with zeros
+     * The range is widened to whole buckets; by default it ends today and spans DEFAULT_SERIES_BUCKETS
+     */
+    public SeriesResponse getSeries(String userId, TransactionType type, String granularityName,
+                                    LocalDate from, LocalDate to, String category) {
+        return series(userId, type, granularityName, from, to, category, true);
+    }
+    
+    /**
+     * Dashboard section: getSeries for a user the caller has already verified
+     */
+    public SeriesResponse getSeriesForVerifiedUser(String userId, TransactionType type, String granularityName,
+                                                   LocalDate from, LocalDate to, String category) {
+        return series(userId, type, granularityName, from, to, category, false);
+    }
+    
+    private SeriesResponse series(String userId, TransactionType type, String granularityName,
+                                  LocalDate from, LocalDate to, String category, boolean verifyUser) {
+        log.info("Fetching {} series for user {} by {}", type, userId, granularityName);
         
-        List<Object[]> results = transactionRepository.getMonthlyAnalytics(
-                userId, TransactionType.EXPENSE
+        Granularity granularity = Granularity.parse(granularityName);
+        LocalDate lastBucket = granularity.truncate(to != null ? to : LocalDate.now());
+        LocalDate firstBucket = from != null
+                ? granularity.truncate(from)
+                : granularity.plus(lastBucket, 1 - DEFAULT_SERIES_BUCKETS);
+        if (firstBucket.isAfter(lastBucket)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        long buckets = granularity.between(firstBucket, lastBucket) + 1;
+        if (buckets > MAX_SERIES_BUCKETS) {
+            throw new IllegalArgumentException("Range spans " + buckets + " buckets; at most "
+                    + MAX_SERIES_BUCKETS + " are allowed, use a coarser granularity");
+        }
+        LocalDate end = granularity.plus(lastBucket, 1);
+        String categoryFilter = category == null || category.isBlank() ? null : category;
+        
+        if (verifyUser) {
+            verifyUserExists(userId);
+        }
+        
+        List<SeriesPointDTO> sparse = fromEngineOrSql(
+                "series", userId, Function.identity(),
+                () -> columnarEngine.getSeries(userId, type, granularity, firstBucket, end, categoryFilter),
+                () -> transactionJdbcRepository.aggregateSeries(
+                        userId, type, granularity, firstBucket, end, categoryFilter)
         );
         
-        return results.stream()
-                .map(result -> MonthlyAnalyticsDTO.builder()
-                        .month((String) result[0])
-                        .amount(((Number) result[1]).doubleValue())
-                        .build())
-                .limit(12) // Last 12 months
-                .collect(Collectors.toList());
+        // Fill the buckets without transactions with zeros
+        List<SeriesPointDTO> points = new ArrayList<>((int) buckets);
+        int next = 0;
+        for (LocalDate start = firstBucket; start.isBefore(end); start = granularity.plus(start, 1)) {
+            if (next < sparse.size() && sparse.get(next).getStart().equals(start)) {
+                points.add(sparse.get(next++));
+            } else {
+                points.add(new SeriesPointDTO(start, 0, 0));
+            }
+        }
+        
+        return SeriesResponse.builder()
+                .type(type)
+                .granularity(granularity)
+                .category(categoryFilter)
+                .from(firstBucket)
+                .to(end.minusDays(1))
+                .points(points)
+                .build();
     }
     
     /**
-     * Get monthly analytics for income (last 12 months)
+     * Get the amount distribution of each category over a range of months: quantiles and a histogram
+     * Merges the per-month sketches, so the cost depends on the number of buckets, not transactions;
+     * by default the range is the DEFAULT_DISTRIBUTION_MONTHS months up to the current one
      */
-    public List<MonthlyAnalyticsDTO> getMonthlyIncomeAnalytics(String userId) {
-        log.info("Fetching monthly income analytics for user: {}", userId);
+    public DistributionResponse getDistribution(String userId, TransactionType type, YearMonth from, YearMonth to,
+                                                String category, Integer bins) {
+        log.info("Fetching {} distribution for user {}", type, userId);
+        
+        YearMonth last = to != null ? to : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(DEFAULT_DISTRIBUTION_MONTHS - 1);
+        if (first.isAfter(last)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int binCount = bins == null ? DEFAULT_HISTOGRAM_BINS : Math.min(Math.max(bins, 1), MAX_HISTOGRAM_BINS);
+        String categoryFilter = category == null || category.isBlank() ? null : category;
         
         verifyUserExists(userId);
         
-        List<Object[]> results = transactionRepository.getMonthlyAnalytics(
-                userId, TransactionType.INCOME
-        );
+        List<BucketCount> buckets = sketchRepository.findMergedBuckets(userId, type,
+                MonthlyRollupService.periodOf(first), MonthlyRollupService.periodOf(last), categoryFilter);
+        
+        // Rows arrive grouped by category, so each category's sketch is complete when the next starts
+        List<CategoryDistributionDTO> categories = new ArrayList<>();
+        String current = null;
+        AmountSketch sketch = new AmountSketch();
+        for (BucketCount bucket : buckets) {
+            if (!bucket.getCategory().equals(current)) {
+                if (current != null) {
+                    categories.add(toDistribution(current, sketch, binCount));
+                }
+                current = bucket.getCategory();
+                sketch = new AmountSketch();
+            }
+            sketch.add(bucket.getBucket(), bucket.getCount());
+        }
+        if (current != null) {
+            categories.add(toDistribution(current, sketch, binCount));
+        }
+        categories.sort(Comparator.comparingLong(CategoryDistributionDTO::getCount).reversed());
         
-        return results.stream()
-                .map(result -> MonthlyAnalyticsDTO.builder()
-                        .month((String) result[0])
-                        .amount(((Number) result[1]).doubleValue())
-                        .build())
-                .limit(12) // Last 12 months
-                .collect(Collectors.toList());
+        return DistributionResponse.builder()
+                .type(type)
+                .from(first)
+                .to(last)
+                .relativeError(AmountSketch.RELATIVE_ACCURACY)
+                .categories(categories)
+                .build();
+    }
+    
+    /**
+     * Helper: Summarize one category's merged sketch
+     */
+    private CategoryDistributionDTO toDistribution(String category, AmountSketch sketch, int bins) {
+        return CategoryDistributionDTO.builder()
+                .category(category)
+                .count(sketch.count())
+                .min(sketch.quantile(0))
+                .median(sketch.quantile(0.5))
+                .p90(sketch.quantile(0.9))
+                .p99(sketch.quantile(0.99))
+                .max(sketch.quantile(1))
+                .histogram(sketch.histogram(bins))
+                .build();
+    }
+    
+    /**
+     * Helper: Answer from the columnar engine when enabled, otherwise from the rollup table
+     * With shadow checking on, both are computed and a mismatch is logged
+     */
+    private <T> T fromEngineOrSql(String query, String userId, Function<? super T, ?> normalize,
+                                  Supplier<T> engine, Supplier<T> sql) {
+        if (!columnarEngine.isEnabled()) {
+            return sql.get();
+        }
+        T result = engine.get();
+        if (columnarEngine.isShadowCheck()) {
+            T expected = sql.get();
+            if (!normalize.apply(expected).equals(normalize.apply(result))) {
+                log.warn("Columnar {} for user {} differs from SQL: {} vs {}", query, userId, result, expected);
+            }
+        }
+        return result;
     }
     
     /**
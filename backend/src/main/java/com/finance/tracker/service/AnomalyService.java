@@ -0,0 +1,202 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.AnomalyDTO;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streaming anomaly detection over each user's expenses
+ *
+ * A user's AnomalyState is built by replaying their expenses of the last history-days in date
+ * order, then scores every committed expense as it arrives, in O(1) per expense. States are kept
+ * for the most recently used users and rebuilt on demand, so the flags of an evicted user are
+ * reproduced by the replay. The replay can also be run at startup for many users in parallel.
+ */
+@Service
+@Slf4j
+public class AnomalyService {
+    
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate replayTransaction;
+    private final Cache<String, AnomalyState> states;
+    private final double threshold;
+    private final int minSamples;
+    private final int maxPerUser;
+    private final int historyDays;
+    private final boolean replayOnStartup;
+    private final int replayThreads;
+    private final long cacheSize;
+    
+    public AnomalyService(TransactionJdbcRepository transactionJdbcRepository,
+                          UserRepository userRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${analytics.anomaly.threshold:3.0}") double threshold,
+                          @Value("${analytics.anomaly.min-samples:10}") int minSamples,
+                          @Value("${analytics.anomaly.max-per-user:50}") int maxPerUser,
+                          @Value("${analytics.anomaly.history-days:365}") int historyDays,
+                          @Value("${analytics.anomaly.replay-on-startup:false}") boolean replayOnStartup,
+                          @Value("${analytics.anomaly.replay-threads:4}") int replayThreads,
+                          @Value("${analytics.anomaly.cache-size:10000}") long cacheSize) {
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.userRepository = userRepository;
+        // The replay streams in fetch-size chunks only inside a transaction
+        this.replayTransaction = new TransactionTemplate(transactionManager);
+        this.replayTransaction.setReadOnly(true);
+        this.threshold = threshold;
+        this.minSamples = minSamples;
+        this.maxPerUser = maxPerUser;
+        this.historyDays = historyDays;
+        this.replayOnStartup = replayOnStartup;
+        this.replayThreads = replayThreads;
+        this.cacheSize = cacheSize;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+    
+    /**
+     * Get a user's flagged expenses, newest first
+     */
+    public List<AnomalyDTO> getAnomalies(String userId) {
+        log.info("Fetching anomalies for user: {}", userId);
+        
+        verifyUserExists(userId);
+        
+        return state(userId).anomalies();
+    }
+    
+    /**
+     * Hook every transaction write so loaded states score it once it commits
+     * The write commits between beforeCommit and afterCommit; the state uses both instants to tell
+     * whether its replay may already have seen the write
+     */
+    @EventListener
+    public void onTransactionsChanged(TransactionChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long beforeCommitNanos;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                beforeCommitNanos = System.nanoTime();
+            }
+            
+            @Override
+            public void afterCommit() {
+                long afterCommitNanos = System.nanoTime();
+                // compute rather than computeIfPresent, which skips an entry that is still being computed
+                states.asMap().compute(event.getUserId(), (userId, state) -> {
+                    if (state == null) {
+                        return null;
+                    }
+                    state.applyCommitted(event, beforeCommitNanos, afterCommitNanos);
+                    return state;
+                });
+            }
+        });
+    }
+    
+    /**
+     * Replay the first cache-size users in parallel, each on its own connection, when enabled
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayOnStartup() {
+        if (!replayOnStartup) {
+            return;
+        }
+        log.info("Replaying expense history for anomaly detection on {} threads", replayThreads);
+        long started = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(replayThreads);
+        try {
+            List<CompletableFuture<Void>> replays = new ArrayList<>();
+            String after = "";
+            List<String> ids;
+            do {
+                int pageSize = (int) Math.min(cacheSize - replays.size(), 500);
+                ids = pageSize > 0 ? userRepository.findIdsAfter(after, PageRequest.of(0, pageSize)) : List.of();
+                for (String userId : ids) {
+                    replays.add(CompletableFuture.runAsync(() -> state(userId), executor)
+                            .exceptionally(e -> {
+                                log.warn("Could not replay expense history of user {}: {}", userId, e.toString());
+                                return null;
+                            }));
+                }
+                if (!ids.isEmpty()) {
+                    after = ids.get(ids.size() - 1);
+                }
+            } while (!ids.isEmpty() && replays.size() < cacheSize);
+            CompletableFuture.allOf(replays.toArray(CompletableFuture[]::new)).join();
+            log.info("Replayed expense history of {} users in {} ms",
+                    replays.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Helper: Current state for a user, replaying their history on first use or when stale
+     * The new state is installed before the replay, outside any map lock, so writes committing
+     * meanwhile reach it and mark it stale. If another thread installed a state first, that one
+     * is kept and this replay only serves the current read.
+     */
+    private AnomalyState state(String userId) {
+        ConcurrentMap<String, AnomalyState> map = states.asMap();
+        AnomalyState existing = map.get(userId);
+        if (existing != null && !existing.needsReload()) {
+            return existing;
+        }
+        AnomalyState state = new AnomalyState(threshold, minSamples, maxPerUser, System.nanoTime());
+        if (existing == null) {
+            map.putIfAbsent(userId, state);
+        } else {
+            map.replace(userId, existing, state);
+        }
+        load(userId, state);
+        return state;
+    }
+    
+    /**
+     * Helper: Replay a user's expenses of the last historyDays days into a state
+     */
+    private void load(String userId, AnomalyState state) {
+        replayTransaction.executeWithoutResult(status ->
+                transactionJdbcRepository.forEachInDateOrder(userId, TransactionType.EXPENSE,
+                        LocalDate.now().minusDays(historyDays), state::replay));
+        state.loaded(System.nanoTime());
+    }
+    
+    /**
+     * Helper: Verify user exists
+     */
+    private void verifyUserExists(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.AnomalyDTO;
+import com.finance.tracker.dto.AnomalyDTO.Kind;
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.model.Transaction.TransactionType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running expense statistics of one user per category, and the anomalies they flagged
+ *
+ * Each category keeps Welford mean and variance of the log amount, overall and per day of week,
+ * and of the number of expenses per calendar day per day of week. Each expense is scored against
+ * the statistics before being folded into them, all in O(1): an amount is unusual when its log is
+ * more than the threshold number of standard deviations above the mean for its day of week (or
+ * the overall mean until that day has enough samples), and a day is unusually busy when its
+ * count is that far above the usual count for its day of week. Log amounts keep a few large
+ * purchases from inflating the variance. Deletes and edits unwind the amount statistics exactly;
+ * daily counts are only corrected for the current day, and the state is rebuilt when reloaded.
+ */
+final class AnomalyState {
+    
+    // Floors on the standard deviation, so a category with identical amounts or one expense a day
+    // does not flag every small deviation
+    private static final double MIN_LOG_DEVIATION = 0.1;
+    private static final double MIN_COUNT_DEVIATION = 1.0;
+    
+    // A day with fewer expenses in a category is never flagged as busy
+    private static final int MIN_BUSY_DAY_COUNT = 3;
+    
+    private final double threshold;
+    private final int minSamples;
+    private final int capacity;
+    private final Map<String, CategoryStats> categories = new HashMap<>();
+    private final Deque<AnomalyDTO> anomalies = new ArrayDeque<>();
+    private final long loadStartedNanos;
+    // Long.MAX_VALUE until the replay has finished
+    private long loadFinishedNanos = Long.MAX_VALUE;
+    private boolean stale;
+    
+    /**
+     * An empty state whose replay starts at the given instant
+     */
+    AnomalyState(double threshold, int minSamples, int capacity, long loadStartedNanos) {
+        this.threshold = threshold;
+        this.minSamples = minSamples;
+        this.capacity = capacity;
+        this.loadStartedNanos = loadStartedNanos;
+    }
+    
+    /**
+     * Score and fold in one historical expense; expenses must be replayed in date order
+     */
+    synchronized void replay(TransactionSnapshot expense) {
+        observe(expense);
+    }
+    
+    /**
+     * Record that the replay finished at the given instant
+     */
+    synchronized void loaded(long finishedNanos) {
+        loadFinishedNanos = finishedNanos;
+    }
+    
+    /**
+     * Apply a write that committed at some instant between the two given ones
+     * A write that may have committed during the replay, or while it is still running, might
+     * already be counted, so the state is marked stale and rebuilt on the next read instead
+     */
+    synchronized void applyCommitted(TransactionChangedEvent event, long committedAfterNanos, long committedBeforeNanos) {
+        if (committedBeforeNanos < loadStartedNanos) {
+            return;
+        }
+        if (committedAfterNanos <= loadFinishedNanos) {
+            stale = true;
+            return;
+        }
+        for (TransactionChange change : event.getChanges()) {
+            if (isExpense(change.getBefore())) {
+                forget(change.getBefore());
+            }
+            if (isExpense(change.getAfter())) {
+                observe(change.getAfter());
+            }
+        }
+    }
+    
+    /**
+     * Whether the replay is still running or the state has gone stale
+     */
+    synchronized boolean needsReload() {
+        return stale || loadFinishedNanos == Long.MAX_VALUE;
+    }
+    
+    /**
+     * Flagged expenses, newest first
+     */
+    synchronized List<AnomalyDTO> anomalies() {
+        return new ArrayList<>(anomalies);
+    }
+    
+    /**
+     * Helper: Score an expense against its category's statistics, then add it to them
+     */
+    private void observe(TransactionSnapshot expense) {
+        CategoryStats stats = categories.computeIfAbsent(expense.getCategory(), c -> new CategoryStats());
+        LocalDate day = expense.getDate().toLocalDate();
+        int dayOfWeek = day.getDayOfWeek().getValue() - 1;
+        double logAmount = Math.log(Math.max(expense.getAmount(), 1));
+        
+        boolean current = stats.advanceTo(day);
+        
+        Moments usualAmount = stats.amountByDay[dayOfWeek].n >= minSamples
+                ? stats.amountByDay[dayOfWeek] : stats.amount;
+        if (usualAmount.n >= minSamples) {
+            double score = (logAmount - usualAmount.mean) / Math.max(usualAmount.deviation(), MIN_LOG_DEVIATION);
+            if (score >= threshold) {
+                record(AnomalyDTO.builder()
+                        .transactionId(expense.getId())
+                        .category(expense.getCategory())
+                        .date(expense.getDate())
+                        .amount(expense.getAmount())
+                        .kind(Kind.AMOUNT)
+                        .score(score)
+                        .typicalAmount(Math.round(Math.exp(usualAmount.mean)))
+                        .build());
+            }
+        }
+        
+        if (current) {
+            int count = stats.dayCount + 1;
+            Moments usualCount = stats.countByDay[dayOfWeek];
+            if (count >= MIN_BUSY_DAY_COUNT && usualCount.n >= minSamples) {
+                double score = (count - usualCount.mean) / Math.max(usualCount.deviation(), MIN_COUNT_DEVIATION);
+                if (score >= threshold) {
+                    record(AnomalyDTO.builder()
+                            .transactionId(expense.getId())
+                            .category(expense.getCategory())
+                            .date(expense.getDate())
+                            .amount(expense.getAmount())
+                            .kind(Kind.FREQUENCY)
+                            .score(score)
+                            .dailyCount(count)
+                            .typicalDailyCount(usualCount.mean)
+                            .build());
+                }
+            }
+            stats.dayCount = count;
+        }
+        
+        stats.amount.add(logAmount);
+        stats.amountByDay[dayOfWeek].add(logAmount);
+    }
+    
+    /**
+     * Helper: Remove a deleted or edited expense from its category's statistics and flags
+     */
+    private void forget(TransactionSnapshot expense) {
+        anomalies.removeIf(anomaly -> anomaly.getTransactionId().equals(expense.getId()));
+        CategoryStats stats = categories.get(expense.getCategory());
+        if (stats == null) {
+            return;
+        }
+        LocalDate day = expense.getDate().toLocalDate();
+        double logAmount = Math.log(Math.max(expense.getAmount(), 1));
+        stats.amount.remove(logAmount);
+        stats.amountByDay[day.getDayOfWeek().getValue() - 1].remove(logAmount);
+        if (day.equals(stats.day) && stats.dayCount > 0) {
+            stats.dayCount--;
+        }
+    }
+    
+    /**
+     * Helper: Keep an anomaly, dropping the oldest beyond capacity
+     */
+    private void record(AnomalyDTO anomaly) {
+        anomalies.addFirst(anomaly);
+        if (anomalies.size() > capacity) {
+            anomalies.removeLast();
+        }
+    }
+    
+    private static boolean isExpense(TransactionSnapshot snapshot) {
+        return snapshot != null && snapshot.getType() == TransactionType.EXPENSE;
+    }
+    
+    /**
+     * Statistics of one category; day and dayCount track the latest calendar day seen
+     */
+    private static final class CategoryStats {
+        final Moments amount = new Moments();
+        final Moments[] amountByDay = Moments.perDayOfWeek();
+        final Moments[] countByDay = Moments.perDayOfWeek();
+        LocalDate day;
+        int dayCount;
+        
+        /**
+         * Close the tracked day if the expense is on a later one, counting the days in between as
+         * zero; returns whether the expense is on the tracked day, i.e. not back-dated
+         */
+        boolean advanceTo(LocalDate expenseDay) {
+            if (day == null) {
+                day = expenseDay;
+                return true;
+            }
+            if (!expenseDay.isAfter(day)) {
+                return expenseDay.equals(day);
+            }
+            countByDay[day.getDayOfWeek().getValue() - 1].add(dayCount);
+            long emptyDays = ChronoUnit.DAYS.between(day, expenseDay) - 1;
+            if (emptyDays > 0) {
+                DayOfWeek first = day.plusDays(1).getDayOfWeek();
+                for (int offset = 0; offset < 7; offset++) {
+                    long zeros = emptyDays / 7 + (offset < emptyDays % 7 ? 1 : 0);
+                    countByDay[first.plus(offset).getValue() - 1].addZeros(zeros);
+                }
+            }
+            day = expenseDay;
+            dayCount = 0;
+            return true;
+        }
+    }
+    
+    /**
+     * Welford running count, mean and sum of squared deviations
+     */
+    private static final class Moments {
+        long n;
+        double mean;
+        double m2;
+        
+        static Moments[] perDayOfWeek() {
+            Moments[] moments = new Moments[7];
+            for (int i = 0; i < moments.length; i++) {
+                moments[i] = new Moments();
+            }
+            return moments;
+        }
+        
+        void add(double x) {
+            n++;
+            double delta = x - mean;
+            mean += delta / n;
+            m2 += delta * (x - mean);
+        }
+        
+        /**
+         * Exact inverse of add for a value that was added before
+         */
+        void remove(double x) {
+            if (n <= 1) {
+                n = 0;
+                mean = 0;
+                m2 = 0;
+                return;
+            }
+            double previousMean = (n * mean - x) / (n - 1);
+            m2 = Math.max(m2 - (x - mean) * (x - previousMean), 0);
+            mean = previousMean;
+            n--;
+        }
+        
+        /**
+         * Add k zeros at once by merging a group with mean 0 and no spread (Chan et al.)
+         */
+        void addZeros(long k) {
+            if (k <= 0) {
+                return;
+            }
+            long total = n + k;
+            double delta = -mean;
+            m2 += delta * delta * n * k / total;
+            mean = mean * n / total;
+            n = total;
+        }
+        
+        double deviation() {
+            return n > 1 ? Math.sqrt(m2 / (n - 1)) : 0;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.model.BudgetRecomputeTask;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.BudgetRecomputeTaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalescing background queue for budget spent recomputation
+ *
+ * Transaction writes only record a dirty mark per (user, category, month, year) in the outbox,
+ * inside the writing transaction. After commit the key is queued in memory; a key that is
+ * already queued is not queued again, so a burst of writes to one budget costs one recompute.
+ * Outbox rows survive restarts and are swept periodically, so no mark is lost.
+ */
+@Service
+@Slf4j
+public class BudgetRecomputeQueue {
+    
+    private final BudgetRecomputeTaskRepository taskRepository;
+    private final BudgetService budgetService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final int sweepBatchSize;
+    private final Set<BudgetKey> queued = ConcurrentHashMap.newKeySet();
+    
+    public BudgetRecomputeQueue(BudgetRecomputeTaskRepository taskRepository,
+                                BudgetService budgetService,
+                                TransactionTemplate transactionTemplate,
+                                @Qualifier("budgetRecomputeExecutor") ThreadPoolTaskExecutor executor,
+                                @Value("${budget.recompute.sweep-batch-size:1000}") int sweepBatchSize) {
+        this.taskRepository = taskRepository;
+        this.budgetService = budgetService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+    
+    /**
+     * Record dirty marks in the outbox as part of the writing transaction
+     */
+    @EventListener
+    public void markDirty(TransactionChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        for (BudgetKey key : affectedKeys(event)) {
+            taskRepository.markDirty(UUID.randomUUID().toString(),
+                    key.userId(), key.category(), key.month(), key.year(), now);
+        }
+    }
+    
+    /**
+     * Queue the affected keys once the writing transaction has committed
+     */
+    @TransactionalEventListener
+    public void onCommitted(TransactionChangedEvent event) {
+        affectedKeys(event).forEach(this::enqueue);
+    }
+    
+    /**
+     * Re-queue outbox rows left over from a previous run or from rejected submissions
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${budget.recompute.sweep-interval-ms:30000}",
+               initialDelayString = "${budget.recompute.sweep-interval-ms:30000}")
+    public void sweep() {
+        List<BudgetRecomputeTask> tasks = taskRepository.findAllByOrderByMarkedAtAsc(
+                PageRequest.of(0, sweepBatchSize));
+        if (!tasks.isEmpty()) {
+            log.info("Re-queueing {} pending budget recompute marks", tasks.size());
+        }
+        tasks.forEach(task -> enqueue(
+                new BudgetKey(task.getUserId(), task.getCategory(), task.getMonth(), task.getYear())));
+    }
+    
+    /**
+     * Helper: Submit a key unless it is already waiting to be processed
+     */
+    private void enqueue(BudgetKey key) {
+        if (!queued.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(key));
+        } catch (TaskRejectedException e) {
+            queued.remove(key);
+            log.warn("Budget recompute queue is full; {} will be retried by the sweep", key);
+        }
+    }
+    
+    /**
+     * Helper: Recompute one budget and acknowledge the mark that was read
+     * The key leaves the queued set first, so a commit during the recompute queues it again. The
+     * mark stays locked until commit: a second worker on the same key waits and then finds the
+     * mark gone, and a writer re-marking the key waits and then inserts a fresh mark.
+     */
+    private void process(BudgetKey key) {
+        queued.remove(key);
+        try {
+            transactionTemplate.executeWithoutResult(status -> taskRepository
+                    .findForUpdate(key.userId(), key.category(), key.month(), key.year())
+                    .ifPresent(task -> {
+                        budgetService.updateBudgetSpent(key.userId(), key.category(), key.month(), key.year());
+                        taskRepository.deleteByIdAndVersion(task.getId(), task.getVersion());
+                    }));
+        } catch (RuntimeException e) {
+            log.error("Budget recompute failed for {}; will retry on next sweep", key, e);
+        }
+    }
+    
+    /**
+     * Helper: Collect the budget keys touched by expense changes in an event
+     */
+    private Set<BudgetKey> affectedKeys(TransactionChangedEvent event) {
+        Set<BudgetKey> keys = new LinkedHashSet<>();
+        for (TransactionChange change : event.getChanges()) {
+            if (!change.isCreate() && !change.isDelete() && sameBudgetImpact(change.getBefore(), change.getAfter())) {
+                continue;
+            }
+            addKey(keys, event.getUserId(), change.getBefore());
+            addKey(keys, event.getUserId(), change.getAfter());
+        }
+        return keys;
+    }
+    
+    private boolean sameBudgetImpact(TransactionSnapshot before, TransactionSnapshot after) {
+        return before.getType() == after.getType()
+                && before.getAmount().equals(after.getAmount())
+                && before.getCategory().equals(after.getCategory())
+                && YearMonth.from(before.getDate()).equals(YearMonth.from(after.getDate()));
+    }
+    
+    private void addKey(Set<BudgetKey> keys, String userId, TransactionSnapshot snapshot) {
+        if (snapshot != null && snapshot.getType() == TransactionType.EXPENSE) {
+            keys.add(new BudgetKey(userId, snapshot.getCategory(),
+                    snapshot.getDate().getMonthValue(), snapshot.getDate().getYear()));
+        }
+    }
+    
+    private record BudgetKey(String userId, String category, int month, int year) {
+    }
+}
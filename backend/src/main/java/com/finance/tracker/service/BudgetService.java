@@ -2,22 +2,30 @@ package com.finance.tracker.service;
 
 import com.finance.tracker.dto.BudgetRequest;
 import com.finance.tracker.dto.BudgetResponse;
+import com.finance.tracker.event.BudgetChangedEvent;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.Budget;
+import com.finance.tracker.model.DeletedRecord;
+import com.finance.tracker.model.DeletedRecord.EntityType;
 import com.finance.tracker.model.Transaction.TransactionType;
 import com.finance.tracker.model.User;
 import com.finance.tracker.repository.BudgetRepository;
-import com.finance.tracker.repository.TransactionRepository;
+import com.finance.tracker.repository.DeletedRecordRepository;
+import com.finance.tracker.repository.MonthlyRollupRepository;
 import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.service.AnalyticsCache.Key;
+import com.finance.tracker.service.AnalyticsCache.Kind;
+import com.finance.tracker.util.MonthBounds;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service layer for Budget Management
@@ -31,48 +39,52 @@ public class BudgetService {
     
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository rollupRepository;
+    private final DeletedRecordRepository deletedRecordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AnalyticsCache analyticsCache;
     
     /**
      * Get all budgets for a user
+     * Cached in AnalyticsCache; SUPPORTS keeps a cache hit from borrowing a connection
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BudgetResponse> getAllBudgets(String userId) {
         log.info("Fetching all budgets for user: {}", userId);
         
-        verifyUserExists(userId);
-        
-        List<Budget> budgets = budgetRepository.findByUserId(userId);
-        log.info("Found {} budgets for user: {}", budgets.size(), userId);
-        
-        return budgets.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return analyticsCache.get(new Key(userId, Kind.ALL_BUDGETS, null, null), () -> {
+            verifyUserExists(userId);
+            
+            List<BudgetResponse> budgets = budgetRepository.findResponsesByUserId(userId);
+            log.info("Found {} budgets for user: {}", budgets.size(), userId);
+            
+            return budgets;
+        });
     }
     
     /**
      * Get budgets for specific month and year
+     * Cached per month; only writes to that month's budgets evict it
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BudgetResponse> getBudgetsByMonthAndYear(String userId, Integer month, Integer year) {
-        log.info("Fetching budgets for user {} for {}/{}", userId, month, year);
-        
-        verifyUserExists(userId);
-        
-        List<Budget> budgets = budgetRepository.findByUserIdAndMonthAndYear(userId, month, year);
-        
-        return budgets.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return budgetsOfMonth(userId, YearMonth.of(year, month), true);
     }
     
     /**
      * Get current month budgets
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BudgetResponse> getCurrentMonthBudgets(String userId) {
-        LocalDateTime now = LocalDateTime.now();
-        return getBudgetsByMonthAndYear(userId, now.getMonthValue(), now.getYear());
+        return budgetsOfMonth(userId, YearMonth.now(), true);
+    }
+    
+    /**
+     * Dashboard section: getCurrentMonthBudgets for a user the caller has already verified
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BudgetResponse> getCurrentMonthBudgetsForVerifiedUser(String userId) {
+        return budgetsOfMonth(userId, YearMonth.now(), false);
     }
     
     /**
@@ -82,7 +94,7 @@ public class BudgetService {
     public BudgetResponse getBudgetById(String userId, String budgetId) {
         log.info("Fetching budget {} for user: {}", budgetId, userId);
         
-        Budget budget = budgetRepository.findById(budgetId)
+        Budget budget = budgetRepository.findByIdIfUuid(budgetId)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget", "id", budgetId));
         
         // Verify budget belongs to user
@@ -126,6 +138,7 @@ public class BudgetService {
         }
         
         Budget savedBudget = budgetRepository.save(budget);
+        eventPublisher.publishEvent(BudgetChangedEvent.of(userId, request.getMonth(), request.getYear()));
         
         // Calculate and update spent amount
         updateBudgetSpent(userId, request.getCategory(), request.getMonth(), request.getYear());
@@ -145,7 +158,7 @@ public class BudgetService {
     public BudgetResponse updateBudget(String userId, String budgetId, BudgetRequest request) {
         log.info("Updating budget {} for user: {}", budgetId, userId);
         
-        Budget budget = budgetRepository.findById(budgetId)
+        Budget budget = budgetRepository.findByIdIfUuid(budgetId)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget", "id", budgetId));
         
         // Verify budget belongs to user
@@ -153,6 +166,8 @@ public class BudgetService {
             throw new ResourceNotFoundException("Budget", "id", budgetId);
         }
         
+        YearMonth oldMonth = YearMonth.of(budget.getYear(), budget.getMonth());
+        
         // Update budget
         budget.setCategory(request.getCategory());
         budget.setAmount(request.getAmount());
@@ -160,6 +175,8 @@ public class BudgetService {
         budget.setYear(request.getYear());
         
         budget = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(userId,
+                List.of(oldMonth, YearMonth.of(request.getYear(), request.getMonth()))));
         
         // Recalculate spent amount
         updateBudgetSpent(userId, request.getCategory(), request.getMonth(), request.getYear());
@@ -178,7 +195,7 @@ public class BudgetService {
     public void deleteBudget(String userId, String budgetId) {
         log.info("Deleting budget {} for user: {}", budgetId, userId);
         
-        Budget budget = budgetRepository.findById(budgetId)
+        Budget budget = budgetRepository.findByIdIfUuid(budgetId)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget", "id", budgetId));
         
         // Verify budget belongs to user
@@ -187,11 +204,22 @@ public class BudgetService {
         }
         
         budgetRepository.delete(budget);
+        
+        // Leave a tombstone so incrementally syncing clients drop the budget too
+        deletedRecordRepository.save(DeletedRecord.builder()
+                .userId(userId)
+                .entityType(EntityType.BUDGET)
+                .entityId(budgetId)
+                .deletedAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(BudgetChangedEvent.of(userId, budget.getMonth(), budget.getYear()));
         log.info("Budget deleted successfully: {}", budgetId);
     }
     
     /**
      * Update spent amount for a budget based on actual transactions
+     * Full recompute over the month; used when a budget is created or changed, and by the
+     * background recompute queue once transaction writes have marked the budget dirty
      */
     public void updateBudgetSpent(String userId, String category, Integer month, Integer year) {
         log.info("Updating spent amount for budget - user: {}, category: {}, month: {}/{}", 
@@ -207,22 +235,40 @@ public class BudgetService {
             return;
         }
         
-        // Calculate start and end dates for the month
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-        
-        // Calculate total expenses for this category in this month
-        Double spent = transactionRepository.sumAmountByUserAndTypeAndCategoryAndDateBetween(
-                userId, TransactionType.EXPENSE, category, startDate, endDate
+        // Read total expenses for this category in this month from the rollup
+        MonthBounds bounds = MonthBounds.of(month, year);
+        long spent = rollupRepository.sumTotalForCategory(
+                userId, TransactionType.EXPENSE, category, bounds.start()
         );
         
-        budget.setSpent(spent != null ? spent : 0.0);
+        if (budget.getSpent() != null && spent == budget.getSpent()) {
+            log.info("Budget spent amount unchanged for category {}", category);
+            return;
+        }
+        
+        budget.setSpent(spent);
         budgetRepository.save(budget);
+        eventPublisher.publishEvent(BudgetChangedEvent.of(userId, month, year));
         
         log.info("Budget spent amount updated: {} for category {}", spent, category);
     }
     
+    /**
+     * Helper: Budgets of one month, cached per month
+     */
+    private List<BudgetResponse> budgetsOfMonth(String userId, YearMonth yearMonth, boolean verifyUser) {
+        log.info("Fetching budgets for user {} for {}", userId, yearMonth);
+        
+        return analyticsCache.get(new Key(userId, Kind.BUDGETS, yearMonth, null), () -> {
+            if (verifyUser) {
+                verifyUserExists(userId);
+            }
+            
+            return budgetRepository.findResponsesByUserIdAndMonthAndYear(
+                    userId, yearMonth.getMonthValue(), yearMonth.getYear());
+        });
+    }
+    
     /**
      * Helper: Verify user exists
      */
@@ -245,6 +291,7 @@ public class BudgetService {
                 .percentageUsed(budget.getPercentageUsed())
                 .month(budget.getMonth())
                 .year(budget.getYear())
+                .updatedAt(budget.getUpdatedAt())
                 .build();
     }
 }
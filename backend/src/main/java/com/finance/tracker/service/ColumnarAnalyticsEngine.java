@@ -0,0 +1,150 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.CategoryAnalyticsDTO;
+import com.finance.tracker.dto.SeriesPointDTO;
+import com.finance.tracker.dto.SeriesResponse.Granularity;
+import com.finance.tracker.dto.StatsDTO;
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Optional in-memory analytics engine over per-user columnar ledgers
+ *
+ * A user's ledger is loaded on their first analytics read and patched after every committed
+ * transaction write. Loaded ledgers share a memory budget; Caffeine keeps the most frequently
+ * queried users and evicts the rest. Patches block on an in-flight load of the same user and are
+ * idempotent upserts, so a write that commits during a load is neither lost nor counted twice. A
+ * ledger is reloaded after max-age-minutes regardless of patches, bounding drift from writes
+ * that bypass the service layer.
+ */
+@Service
+@Slf4j
+public class ColumnarAnalyticsEngine {
+    
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final boolean enabled;
+    private final boolean shadowCheck;
+    private final Cache<String, ColumnarLedger> ledgers;
+    
+    public ColumnarAnalyticsEngine(TransactionJdbcRepository transactionJdbcRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${analytics.columnar.enabled:false}") boolean enabled,
+                                   @Value("${analytics.columnar.shadow-check:false}") boolean shadowCheck,
+                                   @Value("${analytics.columnar.memory-budget-mb:256}") long memoryBudgetMb,
+                                   @Value("${analytics.columnar.max-age-minutes:30}") long maxAgeMinutes) {
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.enabled = enabled;
+        this.shadowCheck = shadowCheck;
+        long maxAgeNanos = Duration.ofMinutes(maxAgeMinutes).toNanos();
+        this.ledgers = Caffeine.newBuilder()
+                .maximumWeight(memoryBudgetMb * 1024 * 1024)
+                .weigher((String userId, ColumnarLedger ledger) -> ledger.weightBytes())
+                .expireAfter(new Expiry<String, ColumnarLedger>() {
+                    @Override
+                    public long expireAfterCreate(String userId, ColumnarLedger ledger, long currentTime) {
+                        return maxAgeNanos;
+                    }
+                    
+                    // Patches do not extend a ledger's lifetime
+                    @Override
+                    public long expireAfterUpdate(String userId, ColumnarLedger ledger, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String userId, ColumnarLedger ledger, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ledgers, "columnar-ledgers");
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Whether engine answers should also be computed through SQL and compared, for verification
+     */
+    public boolean isShadowCheck() {
+        return shadowCheck;
+    }
+    
+    public StatsDTO getStats(String userId, YearMonth current) {
+        return ledger(userId).stats(current);
+    }
+    
+    public List<CategoryAnalyticsDTO> getCategoryAnalytics(String userId, YearMonth month, TransactionType type) {
+        return ledger(userId).categoryBreakdown(month, type);
+    }
+    
+    public List<SeriesPointDTO> getSeries(String userId, TransactionType type, Granularity granularity,
+                                          LocalDate from, LocalDate to, String category) {
+        return ledger(userId).series(type, granularity, from, to, category);
+    }
+    
+    /**
+     * Patch a loaded ledger once a transaction write has committed; unloaded users are skipped
+     */
+    @TransactionalEventListener
+    public void afterTransactionsCommitted(TransactionChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // compute rather than computeIfPresent: the latter looks the user up without locking first and
+        // skips a ledger that is still loading, losing a write that committed after the load's query
+        ledgers.asMap().compute(event.getUserId(), (userId, ledger) -> {
+            if (ledger == null) {
+                return null;
+            }
+            for (TransactionChange change : event.getChanges()) {
+                if (change.isDelete()) {
+                    ledger.remove(change.getBefore().getId());
+                } else {
+                    ledger.upsert(change.getAfter());
+                }
+            }
+            // Returning the ledger makes Caffeine re-weigh it
+            return ledger;
+        });
+    }
+    
+    /**
+     * Drop every loaded ledger, e.g. after a transactions partition was detached
+     */
+    public void invalidateAll() {
+        ledgers.invalidateAll();
+    }
+    
+    /**
+     * Helper: Loaded ledger for a user, reading it from the database on first use
+     */
+    private ColumnarLedger ledger(String userId) {
+        return ledgers.get(userId, id -> {
+            ColumnarLedger ledger = new ColumnarLedger();
+            transactionJdbcRepository.forEachLedgerRow(id, ledger::upsert);
+            log.debug("Loaded columnar ledger for user {} ({} bytes)", id, ledger.weightBytes());
+            return ledger;
+        });
+    }
+}
@@ -0,0 +1,260 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.CategoryAnalyticsDTO;
+import com.finance.tracker.dto.SeriesPointDTO;
+import com.finance.tracker.dto.SeriesResponse.Granularity;
+import com.finance.tracker.dto.StatsDTO;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.model.Transaction.TransactionType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One user's ledger held as primitive columns for analytics scans
+ *
+ * Row i is described by epochDays[i], months[i] (year * 12 + month - 1), cents[i], categories[i]
+ * (a code into the category dictionary) and bit i of the income set. Scans are plain loops over
+ * the arrays with no boxing. Rows are addressed by transaction id for patching; a removed row is
+ * replaced by the last row so the columns stay dense. Reads take the read lock, patches the write
+ * lock.
+ */
+final class ColumnarLedger {
+    
+    private static final int INITIAL_CAPACITY = 64;
+    
+    // Rough heap cost per row: the column slots, plus the id string and its hash map entry
+    private static final int BYTES_PER_SLOT = 28;
+    private static final int BYTES_PER_ROW = 120;
+    private static final int BYTES_PER_CATEGORY = 100;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rowById = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    private final BitSet income = new BitSet();
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private int[] months = new int[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private int size;
+    
+    static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+    
+    /**
+     * Insert a transaction, or overwrite it if its id is already present
+     * Upserts make patches idempotent, so replaying a change the initial load already saw is harmless
+     */
+    void upsert(TransactionSnapshot transaction) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.get(transaction.getId());
+            int index;
+            if (row != null) {
+                index = row;
+            } else {
+                ensureCapacity(size + 1);
+                index = size++;
+                ids[index] = transaction.getId();
+                rowById.put(transaction.getId(), index);
+            }
+            epochDays[index] = (int) transaction.getDate().toLocalDate().toEpochDay();
+            months[index] = monthIndex(YearMonth.from(transaction.getDate()));
+            cents[index] = transaction.getAmount();
+            categories[index] = categoryCode(transaction.getCategory());
+            income.set(index, transaction.getType() == TransactionType.INCOME);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove a transaction if present
+     */
+    void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                epochDays[row] = epochDays[last];
+                months[row] = months[last];
+                cents[row] = cents[last];
+                categories[row] = categories[last];
+                income.set(row, income.get(last));
+                rowById.put(ids[row], row);
+            }
+            ids[last] = null;
+            income.clear(last);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Approximate heap footprint, used to keep all loaded ledgers within a memory budget
+     */
+    int weightBytes() {
+        long bytes = (long) ids.length * BYTES_PER_SLOT + (long) size * BYTES_PER_ROW
+                + (long) categoryNames.size() * BYTES_PER_CATEGORY;
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * All-time totals up to and including the current month, and the current month's totals
+     */
+    StatsDTO stats(YearMonth current) {
+        int currentMonth = monthIndex(current);
+        long totalIncome = 0;
+        long totalExpenses = 0;
+        long monthlyIncome = 0;
+        long monthlyExpenses = 0;
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                int month = months[i];
+                if (month > currentMonth) {
+                    continue;
+                }
+                long amount = cents[i];
+                if (income.get(i)) {
+                    totalIncome += amount;
+                    if (month == currentMonth) {
+                        monthlyIncome += amount;
+                    }
+                } else {
+                    totalExpenses += amount;
+                    if (month == currentMonth) {
+                        monthlyExpenses += amount;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new StatsDTO(totalIncome, totalExpenses, monthlyIncome, monthlyExpenses);
+    }
+    
+    /**
+     * Per-category totals for one month and type, largest first; percentages are left to the caller
+     */
+    List<CategoryAnalyticsDTO> categoryBreakdown(YearMonth yearMonth, TransactionType type) {
+        int month = monthIndex(yearMonth);
+        boolean wantIncome = type == TransactionType.INCOME;
+        List<CategoryAnalyticsDTO> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long[] totals = new long[categoryNames.size()];
+            long[] counts = new long[categoryNames.size()];
+            for (int i = 0; i < size; i++) {
+                if (months[i] == month && income.get(i) == wantIncome) {
+                    totals[categories[i]] += cents[i];
+                    counts[categories[i]]++;
+                }
+            }
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    results.add(new CategoryAnalyticsDTO(categoryNames.get(code), totals[code], counts[code]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        results.sort(Comparator.comparingLong(CategoryAnalyticsDTO::getAmount).reversed());
+        return results;
+    }
+    
+    /**
+     * Totals per bucket for one type in [from, to), optionally for one category
+     * from must be a bucket start; only buckets with transactions are returned, in order
+     */
+    List<SeriesPointDTO> series(TransactionType type, Granularity granularity, LocalDate from, LocalDate to,
+                                String category) {
+        boolean wantIncome = type == TransactionType.INCOME;
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int fromMonth = monthIndex(YearMonth.from(from));
+        int buckets = (int) granularity.between(from, granularity.truncate(to.minusDays(1))) + 1;
+        long[] totals = new long[buckets];
+        long[] counts = new long[buckets];
+        lock.readLock().lock();
+        try {
+            int code = -1;
+            if (category != null) {
+                Integer known = categoryCodes.get(category);
+                if (known == null) {
+                    return List.of();
+                }
+                code = known;
+            }
+            for (int i = 0; i < size; i++) {
+                int day = epochDays[i];
+                if (day < fromDay || day >= toDay || income.get(i) != wantIncome
+                        || (code >= 0 && categories[i] != code)) {
+                    continue;
+                }
+                int bucket = switch (granularity) {
+                    case DAY -> day - fromDay;
+                    case WEEK -> (day - fromDay) / 7;
+                    case MONTH -> months[i] - fromMonth;
+                    case QUARTER -> (months[i] - fromMonth) / 3;
+                    case YEAR -> (months[i] - fromMonth) / 12;
+                };
+                totals[bucket] += cents[i];
+                counts[bucket]++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<SeriesPointDTO> results = new ArrayList<>();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            if (counts[bucket] > 0) {
+                results.add(new SeriesPointDTO(granularity.plus(from, bucket), totals[bucket], counts[bucket]));
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Helper: Dictionary code for a category, adding it on first use
+     */
+    private int categoryCode(String category) {
+        Integer code = categoryCodes.get(category);
+        if (code == null) {
+            code = categoryNames.size();
+            categoryNames.add(category);
+            categoryCodes.put(category, code);
+        }
+        return code;
+    }
+    
+    /**
+     * Helper: Grow every column by half when full
+     */
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        months = Arrays.copyOf(months, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+    }
+}
@@ -0,0 +1,133 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.BudgetResponse;
+import com.finance.tracker.dto.CategoryAnalyticsDTO;
+import com.finance.tracker.dto.DashboardResponse;
+import com.finance.tracker.dto.SeriesResponse;
+import com.finance.tracker.dto.StatsDTO;
+import com.finance.tracker.dto.TransactionPageResponse;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service layer for the composite dashboard
+ *
+ * The sections are independent reads, so they run concurrently on the dashboard pool, each in
+ * its own read-only repository transactions on its own connection. Every section is given the
+ * same deadline, so the response takes about as long as the slowest section rather than the sum
+ * of all of them. A section that fails or misses the deadline is left out of the payload instead
+ * of failing the request; its query is not interrupted and finishes in the background.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+    
+    private final AnalyticsService analyticsService;
+    private final BudgetService budgetService;
+    private final TransactionService transactionService;
+    private final UserRepository userRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final long sectionTimeoutMs;
+    private final int recentTransactions;
+    
+    public DashboardService(AnalyticsService analyticsService,
+                            BudgetService budgetService,
+                            TransactionService transactionService,
+                            UserRepository userRepository,
+                            @Qualifier("dashboardExecutor") ThreadPoolTaskExecutor executor,
+                            @Value("${dashboard.section-timeout-ms:2000}") long sectionTimeoutMs,
+                            @Value("${dashboard.recent-transactions:10}") int recentTransactions) {
+        this.analyticsService = analyticsService;
+        this.budgetService = budgetService;
+        this.transactionService = transactionService;
+        this.userRepository = userRepository;
+        this.executor = executor;
+        this.sectionTimeoutMs = sectionTimeoutMs;
+        this.recentTransactions = recentTransactions;
+    }
+    
+    /**
+     * Get every dashboard section in one call
+     */
+    public DashboardResponse getDashboard(String userId) {
+        log.info("Fetching dashboard for user: {}", userId);
+        
+        verifyUserExists(userId);
+        
+        // The user was verified once above, so the sections skip their own checks
+        CompletableFuture<StatsDTO> stats = section(() -> analyticsService.getDashboardStatsForVerifiedUser(userId));
+        CompletableFuture<List<CategoryAnalyticsDTO>> categories = section(
+                () -> analyticsService.getCurrentMonthCategoryAnalyticsForVerifiedUser(userId));
+        CompletableFuture<SeriesResponse> expenseSeries = section(() -> analyticsService.getSeriesForVerifiedUser(
+                userId, TransactionType.EXPENSE, "month", null, null, null));
+        CompletableFuture<SeriesResponse> incomeSeries = section(() -> analyticsService.getSeriesForVerifiedUser(
+                userId, TransactionType.INCOME, "month", null, null, null));
+        CompletableFuture<List<BudgetResponse>> budgets = section(
+                () -> budgetService.getCurrentMonthBudgetsForVerifiedUser(userId));
+        CompletableFuture<TransactionPageResponse> transactions = section(
+                () -> transactionService.getRecentTransactionsForVerifiedUser(userId, recentTransactions));
+        
+        List<String> failed = new ArrayList<>();
+        DashboardResponse response = DashboardResponse.builder()
+                .stats(await("stats", stats, failed))
+                .categories(await("categories", categories, failed))
+                .expenseSeries(await("expenseSeries", expenseSeries, failed))
+                .incomeSeries(await("incomeSeries", incomeSeries, failed))
+                .budgets(await("budgets", budgets, failed))
+                .recentTransactions(await("recentTransactions", transactions, failed))
+                .failedSections(failed)
+                .build();
+        if (!failed.isEmpty()) {
+            log.warn("Dashboard for user {} is missing sections: {}", userId, failed);
+        }
+        return response;
+    }
+    
+    /**
+     * Helper: Start a section on the dashboard pool with the section deadline
+     */
+    private <T> CompletableFuture<T> section(Supplier<T> read) {
+        try {
+            return CompletableFuture.supplyAsync(read, executor)
+                    .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Helper: Result of a section, or null after recording it as failed
+     */
+    private <T> T await(String name, CompletableFuture<T> section, List<String> failed) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            log.warn("Dashboard section {} failed: {}", name, e.getCause().toString());
+            failed.add(name);
+            return null;
+        }
+    }
+    
+    /**
+     * Helper: Verify user exists
+     */
+    private void verifyUserExists(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+}
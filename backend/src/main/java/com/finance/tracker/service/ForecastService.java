@@ -0,0 +1,178 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.BudgetResponse;
+import com.finance.tracker.dto.CategoryForecastDTO;
+import com.finance.tracker.dto.CategoryForecastDTO.Status;
+import com.finance.tracker.dto.ForecastResponse;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import com.finance.tracker.service.ForecastState.Figures;
+import com.finance.tracker.util.Money;
+import com.finance.tracker.util.MonthBounds;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Spend velocity and end-of-month projections per budget category
+ *
+ * Each user's ForecastState is built once a day from one bounded query of daily totals and then
+ * kept current from the transaction write stream, so a read costs O(categories) no matter how
+ * much history the user has. The projection adds the trend rate for the remaining days of the
+ * month to what has been spent so far.
+ */
+@Service
+@Slf4j
+public class ForecastService {
+    
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final BudgetService budgetService;
+    private final Cache<String, ForecastState> states;
+    private final double alpha;
+    
+    public ForecastService(TransactionJdbcRepository transactionJdbcRepository,
+                           BudgetService budgetService,
+                           @Value("${analytics.forecast.trend-half-life-days:7}") double halfLifeDays,
+                           @Value("${analytics.forecast.cache-size:10000}") long cacheSize) {
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.budgetService = budgetService;
+        this.alpha = 1 - Math.pow(0.5, 1 / halfLifeDays);
+        this.states = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+    
+    /**
+     * Get rolling averages and the projection for every budget of the current month
+     */
+    public ForecastResponse getForecast(String userId) {
+        log.info("Fetching spending forecast for user: {}", userId);
+        
+        // Also verifies the user exists
+        List<BudgetResponse> budgets = budgetService.getCurrentMonthBudgets(userId);
+        
+        LocalDate today = LocalDate.now();
+        MonthBounds month = MonthBounds.of(YearMonth.from(today));
+        int daysElapsed = month.daysElapsed(today);
+        int daysRemaining = month.length() - daysElapsed;
+        ForecastState state = state(userId, today);
+        
+        List<CategoryForecastDTO> categories = new ArrayList<>(budgets.size());
+        for (BudgetResponse budget : budgets) {
+            Figures figures = state.category(budget.getCategory());
+            long projected = project(figures, daysRemaining);
+            long remaining = budget.getAmount() - projected;
+            categories.add(CategoryForecastDTO.builder()
+                    .category(budget.getCategory())
+                    .budget(budget.getAmount())
+                    .spentToDate(figures.monthToDate)
+                    .dailyPace(figures.monthToDate / Math.max(daysElapsed, 1))
+                    .dailyTrend(Math.round(figures.trend))
+                    .average7(figures.last7 / 7)
+                    .average30(figures.last30 / 30)
+                    .average90(figures.last90 / ForecastState.WINDOW_DAYS)
+                    .projectedTotal(projected)
+                    .projectedRemaining(remaining)
+                    .projectedPercentage(Money.percentage(projected, budget.getAmount()))
+                    .status(figures.monthToDate > budget.getAmount() ? Status.OVER_BUDGET
+                            : remaining < 0 ? Status.AT_RISK : Status.ON_TRACK)
+                    .build());
+        }
+        
+        Figures total = state.total();
+        return ForecastResponse.builder()
+                .asOf(today)
+                .daysElapsed(daysElapsed)
+                .daysInMonth(month.length())
+                .average7(total.last7 / 7)
+                .average30(total.last30 / 30)
+                .average90(total.last90 / ForecastState.WINDOW_DAYS)
+                .spentToDate(total.monthToDate)
+                .projectedTotal(project(total, daysRemaining))
+                .categories(categories)
+                .build();
+    }
+    
+    /**
+     * Hook every transaction write so loaded states are patched once it commits
+     * The write commits between beforeCommit and afterCommit; the state uses both instants to tell
+     * whether its initial load may already have seen the write
+     */
+    @EventListener
+    public void onTransactionsChanged(TransactionChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long beforeCommitNanos;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                beforeCommitNanos = System.nanoTime();
+            }
+            
+            @Override
+            public void afterCommit() {
+                long afterCommitNanos = System.nanoTime();
+                // compute rather than computeIfPresent, which skips an entry that is still being computed
+                states.asMap().compute(event.getUserId(), (userId, state) -> {
+                    if (state == null) {
+                        return null;
+                    }
+                    state.applyCommitted(event, beforeCommitNanos, afterCommitNanos);
+                    return state;
+                });
+            }
+        });
+    }
+    
+    /**
+     * Helper: Current state for a user, building it on first use, on a new day or when stale
+     * The new state is installed before its query, outside any map lock, so writes committing
+     * meanwhile reach it and mark it stale. If another thread installed a state first, that one
+     * is kept and this load only serves the current read.
+     */
+    private ForecastState state(String userId, LocalDate today) {
+        ConcurrentMap<String, ForecastState> map = states.asMap();
+        ForecastState existing = map.get(userId);
+        if (existing != null && !existing.needsReload(today)) {
+            return existing;
+        }
+        ForecastState state = new ForecastState(today, alpha, System.nanoTime());
+        if (existing == null) {
+            map.putIfAbsent(userId, state);
+        } else {
+            map.replace(userId, existing, state);
+        }
+        load(userId, today, state);
+        return state;
+    }
+    
+    /**
+     * Helper: Fill a state from daily expense totals of the last WINDOW_DAYS days
+     */
+    private void load(String userId, LocalDate today, ForecastState state) {
+        List<TransactionJdbcRepository.DailyTotal> totals = transactionJdbcRepository.findDailyTotals(
+                userId, TransactionType.EXPENSE, state.windowStart(), today.plusDays(1));
+        state.load(totals, System.nanoTime());
+    }
+    
+    /**
+     * Helper: Month-to-date spend plus the trend rate over the remaining days
+     */
+    private long project(Figures figures, int daysRemaining) {
+        return figures.monthToDate + Math.round(figures.trend * daysRemaining);
+    }
+}
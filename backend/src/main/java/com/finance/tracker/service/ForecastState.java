@@ -0,0 +1,164 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.TransactionJdbcRepository.DailyTotal;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running spend figures of one user as of one day, per expense category and in total
+ *
+ * Each category keeps 7, 30 and 90 day sums ending today, the month-to-date sum and an
+ * exponentially weighted daily spend rate over completed days. The rate is a linear combination
+ * of daily totals, so a change to any day inside the window is applied exactly by adding its
+ * weighted amount; nothing is recomputed on write. The state is rebuilt when the day changes.
+ */
+final class ForecastState {
+    
+    static final int WINDOW_DAYS = 90;
+    
+    private final LocalDate asOf;
+    private final LocalDate monthStart;
+    private final double[] trendWeights = new double[WINDOW_DAYS];
+    private final Map<String, Figures> categories = new HashMap<>();
+    private final Figures total = new Figures();
+    private final long loadStartedNanos;
+    // Long.MAX_VALUE until the load has finished
+    private long loadFinishedNanos = Long.MAX_VALUE;
+    private boolean stale;
+    
+    /**
+     * An empty state as of one day, whose load starts at the given instant
+     */
+    ForecastState(LocalDate asOf, double alpha, long loadStartedNanos) {
+        this.asOf = asOf;
+        this.loadStartedNanos = loadStartedNanos;
+        this.monthStart = asOf.withDayOfMonth(1);
+        // Day 1 (yesterday) has weight alpha, each older day (1 - alpha) times the previous
+        double weight = alpha;
+        for (int age = 1; age < WINDOW_DAYS; age++) {
+            trendWeights[age] = weight;
+            weight *= 1 - alpha;
+        }
+    }
+    
+    /**
+     * First day the state covers
+     */
+    LocalDate windowStart() {
+        return asOf.minusDays(WINDOW_DAYS - 1);
+    }
+    
+    /**
+     * Fill the state from daily totals whose read finished at the given instant
+     */
+    synchronized void load(List<DailyTotal> totals, long finishedNanos) {
+        for (DailyTotal dailyTotal : totals) {
+            add(dailyTotal.category(), dailyTotal.day(), dailyTotal.total());
+        }
+        loadFinishedNanos = finishedNanos;
+    }
+    
+    /**
+     * Apply a write that committed at some instant between the two given ones
+     * A write that may have committed while the state was loading, or while it still is, might
+     * already be counted, so the state is marked stale and rebuilt on the next read instead
+     */
+    synchronized void applyCommitted(TransactionChangedEvent event, long committedAfterNanos, long committedBeforeNanos) {
+        if (committedBeforeNanos < loadStartedNanos) {
+            return;
+        }
+        if (committedAfterNanos <= loadFinishedNanos) {
+            stale = true;
+            return;
+        }
+        for (TransactionChange change : event.getChanges()) {
+            addSnapshot(change.getBefore(), -1);
+            addSnapshot(change.getAfter(), 1);
+        }
+    }
+    
+    /**
+     * Whether the load is still running, the state has gone stale or the day has changed
+     */
+    synchronized boolean needsReload(LocalDate today) {
+        return stale || loadFinishedNanos == Long.MAX_VALUE || !asOf.equals(today);
+    }
+    
+    synchronized Figures total() {
+        return total.copy();
+    }
+    
+    /**
+     * Figures for one category; zeros when it had no expenses in the window
+     */
+    synchronized Figures category(String category) {
+        Figures figures = categories.get(category);
+        return figures == null ? new Figures() : figures.copy();
+    }
+    
+    /**
+     * Helper: Add one side of a change if it is an expense
+     */
+    private void addSnapshot(TransactionSnapshot snapshot, int sign) {
+        if (snapshot != null && snapshot.getType() == TransactionType.EXPENSE) {
+            add(snapshot.getCategory(), snapshot.getDate().toLocalDate(), sign * snapshot.getAmount());
+        }
+    }
+    
+    /**
+     * Helper: Add an amount spent on a day to its category and the total; days outside the window are ignored
+     */
+    private void add(String category, LocalDate day, long amount) {
+        long age = ChronoUnit.DAYS.between(day, asOf);
+        if (age < 0 || age >= WINDOW_DAYS) {
+            return;
+        }
+        boolean inMonth = !day.isBefore(monthStart);
+        double trend = trendWeights[(int) age] * amount;
+        categories.computeIfAbsent(category, c -> new Figures()).add(age, inMonth, amount, trend);
+        total.add(age, inMonth, amount, trend);
+    }
+    
+    /**
+     * Running sums in cents; trend is the weighted daily rate in cents per day
+     */
+    static final class Figures {
+        long last7;
+        long last30;
+        long last90;
+        long monthToDate;
+        double trend;
+        
+        private void add(long age, boolean inMonth, long amount, double weightedAmount) {
+            if (age < 7) {
+                last7 += amount;
+            }
+            if (age < 30) {
+                last30 += amount;
+            }
+            last90 += amount;
+            if (inMonth) {
+                monthToDate += amount;
+            }
+            trend += weightedAmount;
+        }
+        
+        private Figures copy() {
+            Figures copy = new Figures();
+            copy.last7 = last7;
+            copy.last30 = last30;
+            copy.last90 = last90;
+            copy.monthToDate = monthToDate;
+            copy.trend = trend;
+            return copy;
+        }
+    }
+}
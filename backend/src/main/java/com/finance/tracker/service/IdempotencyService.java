@@ -0,0 +1,192 @@
+package com.finance.tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.tracker.exception.ResourceAlreadyExistsException;
+import com.finance.tracker.model.IdempotencyRecord;
+import com.finance.tracker.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes write endpoints safe to retry with an Idempotency-Key header
+ *
+ * The first request with a key runs the write and stores its response in the same database
+ * transaction. Retries with that key get the stored response back without touching the ledger.
+ * Recent keys are served from a bounded in-memory cache; older ones fall back to the table
+ * until they are purged.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, StoredResponse> responses;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    /**
+     * Run a write once per idempotency key, replaying the stored response for repeats
+     * Without a key the write simply runs
+     */
+    public <T> ResponseEntity<T> execute(String userId, String key, String operation, Object request,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        
+        String cacheKey = userId + ":" + key;
+        String requestHash = hash(operation, request);
+        
+        StoredResponse stored = findStored(cacheKey, userId, key);
+        if (stored != null) {
+            return replay(stored, requestHash, responseType);
+        }
+        
+        // Another request with this key is still running on this instance
+        if (!inFlight.add(cacheKey)) {
+            throw new ResourceAlreadyExistsException("A request with this " + HEADER + " is already in progress");
+        }
+        try {
+            StoredResponse[] saved = new StoredResponse[1];
+            ResponseEntity<T> response;
+            try {
+                response = transactionTemplate.execute(status -> {
+                    ResponseEntity<T> result = action.get();
+                    saved[0] = new StoredResponse(requestHash, result.getStatusCode().value(), toJson(result.getBody()));
+                    // Flush so a concurrent duplicate on another instance fails here and rolls the write back
+                    idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                            .userId(userId)
+                            .idempotencyKey(key)
+                            .requestHash(requestHash)
+                            .responseStatus(saved[0].status())
+                            .responseBody(saved[0].body())
+                            .createdAt(LocalDateTime.now())
+                            .build());
+                    return result;
+                });
+            } catch (DataIntegrityViolationException e) {
+                throw new ResourceAlreadyExistsException("A request with this " + HEADER + " is already in progress");
+            }
+            responses.put(cacheKey, saved[0]);
+            return response;
+        } finally {
+            inFlight.remove(cacheKey);
+        }
+    }
+    
+    /**
+     * Purge stored responses that have outlived the TTL
+     */
+    @Scheduled(cron = "${idempotency.purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteOlderThan(LocalDateTime.now().minus(ttl));
+        log.info("Purged {} expired idempotency keys", purged);
+    }
+    
+    /**
+     * Helper: Look up a stored response, in memory first
+     */
+    private StoredResponse findStored(String cacheKey, String userId, String key) {
+        StoredResponse stored = responses.getIfPresent(cacheKey);
+        if (stored != null) {
+            return stored;
+        }
+        stored = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, key)
+                .map(record -> new StoredResponse(record.getRequestHash(), record.getResponseStatus(),
+                        record.getResponseBody()))
+                .orElse(null);
+        if (stored != null) {
+            responses.put(cacheKey, stored);
+        }
+        return stored;
+    }
+    
+    /**
+     * Helper: Rebuild the original response for a retried request
+     */
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IllegalArgumentException(HEADER + " was already used for a different request");
+        }
+        log.info("Replaying stored response for idempotent request");
+        try {
+            T body = stored.body() == null ? null : objectMapper.readValue(stored.body(), responseType);
+            return ResponseEntity.status(stored.status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response could not be read", e);
+        }
+    }
+    
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be stored for idempotent replay", e);
+        }
+    }
+    
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            if (request != null) {
+                digest.update(objectMapper.writeValueAsBytes(request));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+    
+    private record StoredResponse(String requestHash, int status, String body) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.event.BudgetChangedEvent;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Tracks a monotonically increasing ledger version per user
+ *
+ * Every transaction or budget write bumps the version in the writing transaction. Versions are
+ * cached in memory, so conditional GETs can be answered without touching the database; the
+ * cached entry is dropped after commit and reloaded on the next read. Entries also expire after
+ * ttl-seconds, bounding how long a version bumped elsewhere (by another instance, or by SQL run
+ * outside the services) can be served stale.
+ */
+@Service
+@Slf4j
+public class LedgerVersionService {
+    
+    private final UserRepository userRepository;
+    private final Cache<String, Long> versions;
+    
+    public LedgerVersionService(UserRepository userRepository,
+                                @Value("${ledger.version.cache-size:100000}") long cacheSize,
+                                @Value("${ledger.version.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+    
+    /**
+     * Get the current ledger version for a user, or 0 for an unknown user
+     */
+    public long getVersion(String userId) {
+        return versions.get(userId, id -> userRepository.findLedgerVersionById(id).orElse(0L));
+    }
+    
+    /**
+     * Bump the version inside the transaction that changed the transactions
+     */
+    @EventListener
+    public void onTransactionsChanged(TransactionChangedEvent event) {
+        userRepository.incrementLedgerVersion(event.getUserId());
+    }
+    
+    /**
+     * Bump the version inside the transaction that changed the budgets
+     */
+    @EventListener
+    public void onBudgetsChanged(BudgetChangedEvent event) {
+        userRepository.incrementLedgerVersion(event.getUserId());
+    }
+    
+    @TransactionalEventListener
+    public void afterTransactionsCommitted(TransactionChangedEvent event) {
+        versions.invalidate(event.getUserId());
+    }
+    
+    @TransactionalEventListener
+    public void afterBudgetsCommitted(BudgetChangedEvent event) {
+        versions.invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,217 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.AmountSketchRepository;
+import com.finance.tracker.repository.MonthlyRollupRepository;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import com.finance.tracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Maintains the monthly rollup table that analytics and budget spent amounts read from, and the
+ * amount distribution sketches stored next to it
+ *
+ * Every transaction change is folded into per (month, type, category) deltas, and per amount
+ * bucket for the sketches, and upserted in the writing database transaction, so both commit or
+ * roll back together with the rows they summarize. Writers load the rows they update or delete
+ * with a row lock, so the old values a delta subtracts are the committed ones being replaced. A
+ * rebuild recomputes one user's rows from the transactions table; writers hold a shared per-user
+ * lock and a rebuild an exclusive one, so no delta is lost or counted twice.
+ */
+@Service
+@Slf4j
+public class MonthlyRollupService {
+    
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing(RollupKey::period)
+            .thenComparing(RollupKey::type)
+            .thenComparing(RollupKey::category);
+    
+    private static final Comparator<SketchKey> SKETCH_KEY_ORDER = Comparator
+            .comparing(SketchKey::rollup, KEY_ORDER)
+            .thenComparingInt(SketchKey::bucket);
+    
+    private final MonthlyRollupRepository rollupRepository;
+    private final AmountSketchRepository sketchRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final UserRepository userRepository;
+    private final AnalyticsCache analyticsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildOnStartup;
+    private final int rebuildPageSize;
+    
+    public MonthlyRollupService(MonthlyRollupRepository rollupRepository,
+                                AmountSketchRepository sketchRepository,
+                                TransactionJdbcRepository transactionJdbcRepository,
+                                UserRepository userRepository,
+                                AnalyticsCache analyticsCache,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${analytics.rollup.rebuild-on-startup:false}") boolean rebuildOnStartup,
+                                @Value("${analytics.rollup.rebuild-page-size:500}") int rebuildPageSize) {
+        this.rollupRepository = rollupRepository;
+        this.sketchRepository = sketchRepository;
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.userRepository = userRepository;
+        this.analyticsCache = analyticsCache;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildPageSize = rebuildPageSize;
+    }
+    
+    /**
+     * Apply the net effect of a transaction change inside the writing transaction
+     * The before snapshots must come from rows locked for the write, or concurrent writers of one
+     * row would both subtract the same old values
+     */
+    @EventListener
+    public void onTransactionsChanged(TransactionChangedEvent event) {
+        // Sorted keys keep the row lock order stable across concurrent writers
+        Map<RollupKey, long[]> deltas = new TreeMap<>(KEY_ORDER);
+        Map<SketchKey, Long> sketchDeltas = new TreeMap<>(SKETCH_KEY_ORDER);
+        for (TransactionChange change : event.getChanges()) {
+            addDelta(deltas, change.getBefore(), -1);
+            addDelta(deltas, change.getAfter(), 1);
+            addSketchDelta(sketchDeltas, change.getBefore(), -1);
+            addSketchDelta(sketchDeltas, change.getAfter(), 1);
+        }
+        deltas.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0);
+        sketchDeltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty() && sketchDeltas.isEmpty()) {
+            return;
+        }
+        
+        rollupRepository.lockShared(event.getUserId());
+        deltas.forEach((key, delta) -> rollupRepository.applyDelta(
+                UUID.randomUUID().toString(), event.getUserId(), key.period(), key.type().name(),
+                key.category(), delta[0], delta[1]));
+        applySketchDeltas(event.getUserId(), sketchDeltas);
+    }
+    
+    /**
+     * Recompute one user's rollup rows from their transactions
+     */
+    public void rebuild(String userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepository.lockExclusive(userId);
+            rollupRepository.deleteByUser(userId);
+            int rows = rollupRepository.rebuildForUser(userId);
+            
+            // Sketch buckets are computed here rather than in SQL so they use AmountSketch's exact mapping
+            sketchRepository.deleteByUser(userId);
+            Map<SketchKey, Long> buckets = new TreeMap<>(SKETCH_KEY_ORDER);
+            transactionJdbcRepository.forEachLedgerRow(userId, snapshot -> addSketchDelta(buckets, snapshot, 1));
+            applySketchDeltas(userId, buckets);
+            log.debug("Rebuilt {} rollup rows and {} sketch buckets for user {}", rows, buckets.size(), userId);
+        });
+        analyticsCache.invalidateUser(userId);
+    }
+    
+    /**
+     * Recompute every user's rollup rows, one short database transaction per user
+     */
+    @Scheduled(cron = "${analytics.rollup.rebuild-cron:-}")
+    public void rebuildAll() {
+        log.info("Rebuilding monthly rollups for all users");
+        int users = 0;
+        String after = "";
+        List<String> ids;
+        do {
+            ids = userRepository.findIdsAfter(after, PageRequest.of(0, rebuildPageSize));
+            for (String userId : ids) {
+                rebuild(userId);
+                users++;
+            }
+            if (!ids.isEmpty()) {
+                after = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == rebuildPageSize);
+        log.info("Rebuilt monthly rollups for {} users", users);
+    }
+    
+    /**
+     * Backfill on first start after the rollup table was introduced, or on request
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() {
+        if (rebuildOnStartup || !rollupRepository.anyExist() || !sketchRepository.anyExist()) {
+            rebuildAll();
+        }
+    }
+    
+    /**
+     * Drop one month for every user, e.g. after its transactions partition was detached
+     */
+    public void dropMonth(YearMonth month) {
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepository.deleteByPeriod(periodOf(month));
+            sketchRepository.deleteByPeriod(periodOf(month));
+        });
+        analyticsCache.invalidateMonth(month);
+    }
+    
+    /**
+     * First day of the month a transaction date falls in, the rollup period key
+     */
+    public static LocalDate periodOf(YearMonth month) {
+        return month.atDay(1);
+    }
+    
+    /**
+     * Helper: Add one snapshot's amount and count to its key
+     */
+    private void addDelta(Map<RollupKey, long[]> deltas, TransactionSnapshot snapshot, int sign) {
+        if (snapshot == null) {
+            return;
+        }
+        RollupKey key = new RollupKey(periodOf(YearMonth.from(snapshot.getDate())),
+                snapshot.getType(), snapshot.getCategory());
+        long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+        delta[0] += sign * snapshot.getAmount();
+        delta[1] += sign;
+    }
+    
+    /**
+     * Helper: Add one snapshot to the count of its sketch bucket
+     */
+    private void addSketchDelta(Map<SketchKey, Long> deltas, TransactionSnapshot snapshot, int sign) {
+        if (snapshot == null) {
+            return;
+        }
+        RollupKey rollup = new RollupKey(periodOf(YearMonth.from(snapshot.getDate())),
+                snapshot.getType(), snapshot.getCategory());
+        deltas.merge(new SketchKey(rollup, AmountSketch.bucketOf(snapshot.getAmount())), (long) sign, Long::sum);
+    }
+    
+    /**
+     * Helper: Upsert bucket count deltas in key order
+     */
+    private void applySketchDeltas(String userId, Map<SketchKey, Long> deltas) {
+        deltas.forEach((key, count) -> sketchRepository.applyDelta(
+                UUID.randomUUID().toString(), userId, key.rollup().period(), key.rollup().type().name(),
+                key.rollup().category(), key.bucket(), count));
+    }
+    
+    private record RollupKey(LocalDate period, TransactionType type, String category) {
+    }
+    
+    private record SketchKey(RollupKey rollup, int bucket) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.ActiveUsersDTO;
+import com.finance.tracker.dto.CategoryVolumeDTO;
+import com.finance.tracker.dto.PlatformReportResponse;
+import com.finance.tracker.dto.UtilizationBinDTO;
+import com.finance.tracker.exception.ForbiddenException;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.ReportingJdbcRepository;
+import com.finance.tracker.repository.ReportingJdbcRepository.UserIdRange;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Platform-wide reports across all users, for administrators
+ *
+ * The user id space is split into shards by id prefix (ids are random UUIDs, so shards are about
+ * equal in size). A fork-join task halves the shard range until it reaches one shard, which is
+ * aggregated in its own short read-only transaction on its own connection, and partial results
+ * are merged as the tasks join. Every figure is a sum or a count over disjoint sets of users, so
+ * merging is exact. No transaction spans more than one shard.
+ */
+@Service
+@Slf4j
+public class PlatformReportService {
+    
+    public static final int DEFAULT_REPORT_MONTHS = 12;
+    
+    private static final int ID_PREFIX_SPACE = 0x10000;
+    
+    private final ReportingJdbcRepository reportingJdbcRepository;
+    private final TransactionTemplate shardTransaction;
+    private final ForkJoinPool pool;
+    private final Set<String> adminUserIds;
+    private final List<UserIdRange> shards;
+    
+    public PlatformReportService(ReportingJdbcRepository reportingJdbcRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${reporting.shards:64}") int shardCount,
+                                 @Value("${reporting.parallelism:4}") int parallelism,
+                                 @Value("${reporting.shard-timeout-seconds:60}") int shardTimeoutSeconds,
+                                 @Value("${admin.user-ids:}") String adminUserIds) {
+        this.reportingJdbcRepository = reportingJdbcRepository;
+        // Repeatable read gives the queries of one shard a single snapshot
+        this.shardTransaction = new TransactionTemplate(transactionManager);
+        this.shardTransaction.setReadOnly(true);
+        this.shardTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.shardTransaction.setTimeout(shardTimeoutSeconds);
+        // Each running leaf holds a connection, so parallelism should stay below the datasource pool size
+        this.pool = new ForkJoinPool(parallelism);
+        this.adminUserIds = Arrays.stream(adminUserIds.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .collect(Collectors.toSet());
+        this.shards = shardRanges(Math.min(Math.max(shardCount, 1), ID_PREFIX_SPACE));
+    }
+    
+    /**
+     * Get category volumes and active users over a range of months, and budget utilization of one month
+     * By default the range is the DEFAULT_REPORT_MONTHS months up to the current one and the
+     * budget month is its last month
+     */
+    public PlatformReportResponse getReport(String userId, YearMonth from, YearMonth to, YearMonth budgetMonth) {
+        log.info("Building platform report for admin {}", userId);
+        
+        if (!adminUserIds.contains(userId)) {
+            throw new ForbiddenException("Platform reports are restricted to administrators");
+        }
+        
+        YearMonth last = to != null ? to : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(DEFAULT_REPORT_MONTHS - 1);
+        if (first.isAfter(last)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        YearMonth budgets = budgetMonth != null ? budgetMonth : last;
+        
+        long started = System.nanoTime();
+        Partial total = pool.invoke(new ShardTask(0, shards.size(), first, last, budgets));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Platform report over {} shards built in {} ms", shards.size(), elapsedMs);
+        
+        return PlatformReportResponse.builder()
+                .from(first)
+                .to(last)
+                .categoryVolumes(total.categoryVolumes())
+                .activeUsers(total.activeUsers())
+                .budgetMonth(budgets)
+                .budgetUtilization(total.budgetUtilization())
+                .shards(shards.size())
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+    
+    /**
+     * Helper: Aggregate one shard in its own read-only transaction
+     */
+    private Partial aggregate(UserIdRange users, YearMonth from, YearMonth to, YearMonth budgetMonth) {
+        return shardTransaction.execute(status -> {
+            Partial partial = new Partial();
+            reportingJdbcRepository.forEachCategoryVolume(users, from, to, volume -> {
+                long[] sums = partial.volumes.computeIfAbsent(
+                        new VolumeKey(volume.month(), volume.type(), volume.category()), k -> new long[2]);
+                sums[0] += volume.total();
+                sums[1] += volume.count();
+            });
+            reportingJdbcRepository.forEachActiveUserCount(users, from, to, active ->
+                    partial.activeUsers.merge(active.month(), active.users(), Long::sum));
+            partial.utilization = reportingJdbcRepository.countBudgetsByUtilization(users, budgetMonth);
+            return partial;
+        });
+    }
+    
+    /**
+     * Helper: Split the 16-bit id prefix space into contiguous ranges; the outer bounds are open
+     */
+    private static List<UserIdRange> shardRanges(int count) {
+        List<UserIdRange> ranges = new ArrayList<>(count);
+        String lower = null;
+        for (int shard = 1; shard <= count; shard++) {
+            String upper = shard == count ? null : String.format("%04x", (long) shard * ID_PREFIX_SPACE / count);
+            ranges.add(new UserIdRange(lower, upper));
+            lower = upper;
+        }
+        return ranges;
+    }
+    
+    /**
+     * Halves a range of shards until one is left, then aggregates it
+     */
+    private final class ShardTask extends RecursiveTask<Partial> {
+        private final int fromShard;
+        private final int toShard;
+        private final YearMonth from;
+        private final YearMonth to;
+        private final YearMonth budgetMonth;
+        
+        ShardTask(int fromShard, int toShard, YearMonth from, YearMonth to, YearMonth budgetMonth) {
+            this.fromShard = fromShard;
+            this.toShard = toShard;
+            this.from = from;
+            this.to = to;
+            this.budgetMonth = budgetMonth;
+        }
+        
+        @Override
+        protected Partial compute() {
+            if (toShard - fromShard == 1) {
+                return aggregate(shards.get(fromShard), from, to, budgetMonth);
+            }
+            int middle = (fromShard + toShard) >>> 1;
+            ShardTask right = new ShardTask(middle, toShard, from, to, budgetMonth);
+            right.fork();
+            Partial left = new ShardTask(fromShard, middle, from, to, budgetMonth).compute();
+            return left.merge(right.join());
+        }
+    }
+    
+    /**
+     * Sums of one or more shards
+     */
+    private static final class Partial {
+        final Map<VolumeKey, long[]> volumes = new HashMap<>();
+        final Map<YearMonth, Long> activeUsers = new TreeMap<>();
+        long[] utilization = new long[ReportingJdbcRepository.UTILIZATION_EDGES.length + 1];
+        
+        Partial merge(Partial other) {
+            other.volumes.forEach((key, sums) -> {
+                long[] mine = volumes.computeIfAbsent(key, k -> new long[2]);
+                mine[0] += sums[0];
+                mine[1] += sums[1];
+            });
+            other.activeUsers.forEach((month, users) -> activeUsers.merge(month, users, Long::sum));
+            for (int bin = 0; bin < utilization.length; bin++) {
+                utilization[bin] += other.utilization[bin];
+            }
+            return this;
+        }
+        
+        List<CategoryVolumeDTO> categoryVolumes() {
+            List<CategoryVolumeDTO> results = new ArrayList<>(volumes.size());
+            volumes.forEach((key, sums) -> results.add(
+                    new CategoryVolumeDTO(key.month(), key.type(), key.category(), sums[0], sums[1])));
+            results.sort(Comparator.comparing(CategoryVolumeDTO::getMonth)
+                    .thenComparing(CategoryVolumeDTO::getType)
+                    .thenComparing(Comparator.comparingLong(CategoryVolumeDTO::getAmount).reversed()));
+            return results;
+        }
+        
+        List<ActiveUsersDTO> activeUsers() {
+            List<ActiveUsersDTO> results = new ArrayList<>(activeUsers.size());
+            activeUsers.forEach((month, users) -> results.add(new ActiveUsersDTO(month, users)));
+            return results;
+        }
+        
+        List<UtilizationBinDTO> budgetUtilization() {
+            int[] edges = ReportingJdbcRepository.UTILIZATION_EDGES;
+            List<UtilizationBinDTO> results = new ArrayList<>(utilization.length);
+            for (int bin = 0; bin < utilization.length; bin++) {
+                results.add(new UtilizationBinDTO(
+                        bin == 0 ? null : edges[bin - 1],
+                        bin == edges.length ? null : edges[bin],
+                        utilization[bin]));
+            }
+            return results;
+        }
+    }
+    
+    private record VolumeKey(YearMonth month, TransactionType type, String category) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.model.RecurringTransaction;
+import com.finance.tracker.model.Transaction;
+import com.finance.tracker.repository.RecurringTransactionRepository;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scheduled job that turns due recurring definitions into transactions
+ *
+ * Due definitions are claimed in chunks with FOR UPDATE SKIP LOCKED, each chunk in its own short
+ * database transaction, so several instances can share the work and no transaction stays open
+ * for the whole run. Occurrences are written with JDBC batching and announced with one event per
+ * user per chunk, which the budget recompute queue collapses to one mark per budget key.
+ */
+@Service
+@Slf4j
+public class RecurringTransactionMaterializer {
+    
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final RecurringTransactionService recurringTransactionService;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final int maxOccurrencesPerChunk;
+    
+    public RecurringTransactionMaterializer(RecurringTransactionRepository recurringTransactionRepository,
+                                            RecurringTransactionService recurringTransactionService,
+                                            TransactionJdbcRepository transactionJdbcRepository,
+                                            ApplicationEventPublisher eventPublisher,
+                                            TransactionTemplate transactionTemplate,
+                                            @Value("${recurring.chunk-size:500}") int chunkSize,
+                                            @Value("${recurring.max-chunks-per-run:200}") int maxChunksPerRun,
+                                            @Value("${recurring.max-occurrences-per-definition:100}") int maxOccurrencesPerChunk) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.recurringTransactionService = recurringTransactionService;
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.maxOccurrencesPerChunk = maxOccurrencesPerChunk;
+    }
+    
+    /**
+     * Materialize everything due, chunk by chunk, up to maxChunksPerRun chunks
+     * Anything left over is picked up by the next run
+     */
+    @Scheduled(fixedDelayString = "${recurring.poll-interval-ms:60000}",
+               initialDelayString = "${recurring.poll-interval-ms:60000}")
+    public void materializeDue() {
+        LocalDateTime now = LocalDateTime.now();
+        int definitions = 0;
+        int created = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int[] result;
+            try {
+                result = transactionTemplate.execute(status -> materializeChunk(now));
+            } catch (RuntimeException e) {
+                log.error("Recurring transaction chunk failed; will retry on next run", e);
+                break;
+            }
+            definitions += result[0];
+            created += result[1];
+            if (result[0] < chunkSize) {
+                break;
+            }
+        }
+        if (definitions > 0) {
+            log.info("Materialized {} transactions from {} recurring definitions", created, definitions);
+        }
+    }
+    
+    /**
+     * Helper: Claim one chunk of due definitions and write their occurrences up to now
+     * Returns the number of definitions claimed and transactions created
+     */
+    private int[] materializeChunk(LocalDateTime now) {
+        List<RecurringTransaction> due = recurringTransactionRepository.lockDue(now, chunkSize);
+        Map<String, List<Transaction>> byUser = new LinkedHashMap<>();
+        int created = 0;
+        
+        for (RecurringTransaction recurring : due) {
+            long index = recurring.getOccurrenceCount();
+            int generated = 0;
+            // Catch-up is capped per chunk; a definition still behind stays due for the next chunk
+            while (recurring.getActive()
+                    && !recurring.getNextOccurrence().isAfter(now)
+                    && generated < maxOccurrencesPerChunk) {
+                byUser.computeIfAbsent(recurring.getUser().getId(), id -> new ArrayList<>())
+                        .add(Transaction.builder()
+                                .amount(recurring.getAmount())
+                                .description(recurring.getDescription())
+                                .category(recurring.getCategory())
+                                .type(recurring.getType())
+                                .date(recurring.getNextOccurrence())
+                                .build());
+                generated++;
+                recurringTransactionService.advanceTo(recurring, ++index);
+            }
+            created += generated;
+        }
+        
+        byUser.forEach((userId, transactions) -> {
+            transactionJdbcRepository.batchInsert(userId, transactions);
+            eventPublisher.publishEvent(TransactionChangedEvent.createdAll(userId, transactions));
+        });
+        
+        return new int[] {due.size(), created};
+    }
+}
@@ -0,0 +1,205 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.RecurringTransactionRequest;
+import com.finance.tracker.dto.RecurringTransactionResponse;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.model.RecurringTransaction;
+import com.finance.tracker.model.User;
+import com.finance.tracker.repository.RecurringTransactionRepository;
+import com.finance.tracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service layer for recurring transaction definitions
+ * Occurrences themselves are created by RecurringTransactionMaterializer
+ */
+@Service
+@Slf4j
+@Transactional
+public class RecurringTransactionService {
+    
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final UserRepository userRepository;
+    private final int spreadSeconds;
+    
+    public RecurringTransactionService(RecurringTransactionRepository recurringTransactionRepository,
+                                       UserRepository userRepository,
+                                       @Value("${recurring.spread-minutes:60}") int spreadMinutes) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.userRepository = userRepository;
+        this.spreadSeconds = Math.max(spreadMinutes * 60, 1);
+    }
+    
+    /**
+     * Get all recurring definitions for a user
+     */
+    @Transactional(readOnly = true)
+    public List<RecurringTransactionResponse> getAllRecurring(String userId) {
+        log.info("Fetching recurring transactions for user: {}", userId);
+        
+        verifyUserExists(userId);
+        
+        return recurringTransactionRepository.findByUserIdOrderByCreatedAtAsc(userId).stream()
+                .map(this::convertToResponse)
+                .toList();
+    }
+    
+    /**
+     * Create a recurring definition; occurrences from startDate on are materialized by the scheduler
+     */
+    public RecurringTransactionResponse createRecurring(String userId, RecurringTransactionRequest request) {
+        log.info("Creating {} recurring transaction for user: {}", request.getFrequency(), userId);
+        
+        validateDates(request);
+        
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        
+        RecurringTransaction recurring = RecurringTransaction.builder()
+                .user(user)
+                .occurrenceCount(0L)
+                .active(true)
+                .build();
+        applyRequest(recurring, request);
+        
+        recurring = recurringTransactionRepository.save(recurring);
+        // The id feeds the run-time spread, so schedule once it is assigned
+        advanceTo(recurring, 0);
+        log.info("Recurring transaction created with ID: {}", recurring.getId());
+        
+        return convertToResponse(recurring);
+    }
+    
+    /**
+     * Update a recurring definition
+     * Occurrences already materialized are kept and never created twice
+     */
+    public RecurringTransactionResponse updateRecurring(String userId, String recurringId,
+                                                        RecurringTransactionRequest request) {
+        log.info("Updating recurring transaction {} for user: {}", recurringId, userId);
+        
+        validateDates(request);
+        
+        RecurringTransaction recurring = findOwned(userId, recurringId);
+        
+        LocalDateTime lastMaterialized = recurring.getOccurrenceCount() > 0
+                ? recurring.getFrequency().occurrence(recurring.getStartDate(), recurring.getInterval(),
+                        recurring.getOccurrenceCount() - 1)
+                : null;
+        
+        applyRequest(recurring, request);
+        
+        long next = 0;
+        if (lastMaterialized != null) {
+            while (!recurring.getFrequency().occurrence(recurring.getStartDate(), recurring.getInterval(), next)
+                    .isAfter(lastMaterialized)) {
+                next++;
+            }
+        }
+        recurring.setActive(true);
+        advanceTo(recurring, next);
+        
+        recurring = recurringTransactionRepository.save(recurring);
+        log.info("Recurring transaction updated successfully: {}", recurringId);
+        
+        return convertToResponse(recurring);
+    }
+    
+    /**
+     * Delete a recurring definition; transactions it already created are kept
+     */
+    public void deleteRecurring(String userId, String recurringId) {
+        log.info("Deleting recurring transaction {} for user: {}", recurringId, userId);
+        
+        RecurringTransaction recurring = findOwned(userId, recurringId);
+        recurringTransactionRepository.delete(recurring);
+        log.info("Recurring transaction deleted successfully: {}", recurringId);
+    }
+    
+    /**
+     * Point a definition at its index-th occurrence, or end it when that is past endDate
+     * The run time is offset by a stable per-definition delay so that schedules sharing a
+     * date (the 1st of the month, midnight) don't all come due in the same instant
+     */
+    void advanceTo(RecurringTransaction recurring, long index) {
+        LocalDateTime next = recurring.getFrequency().occurrence(
+                recurring.getStartDate(), recurring.getInterval(), index);
+        recurring.setOccurrenceCount(index);
+        if (recurring.getEndDate() != null && next.isAfter(recurring.getEndDate())) {
+            recurring.setActive(false);
+            recurring.setNextOccurrence(null);
+            recurring.setNextRunAt(null);
+            return;
+        }
+        recurring.setNextOccurrence(next);
+        recurring.setNextRunAt(next.plusSeconds(Math.floorMod(recurring.getId().hashCode(), spreadSeconds)));
+    }
+    
+    /**
+     * Helper: Load and lock a definition and check that it belongs to the user
+     * The lock keeps the scheduler off the row until this write commits, and makes this write wait
+     * for a run in progress, so neither overwrites the other's occurrence count
+     */
+    private RecurringTransaction findOwned(String userId, String recurringId) {
+        RecurringTransaction recurring = recurringTransactionRepository.findByIdForUpdate(recurringId)
+                .orElseThrow(() -> new ResourceNotFoundException("RecurringTransaction", "id", recurringId));
+        
+        if (!recurring.getUser().getId().equals(userId)) {
+            throw new ResourceNotFoundException("RecurringTransaction", "id", recurringId);
+        }
+        return recurring;
+    }
+    
+    private void validateDates(RecurringTransactionRequest request) {
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+    }
+    
+    private void applyRequest(RecurringTransaction recurring, RecurringTransactionRequest request) {
+        recurring.setAmount(request.getAmount());
+        recurring.setDescription(request.getDescription());
+        recurring.setCategory(request.getCategory());
+        recurring.setType(request.getType());
+        recurring.setFrequency(request.getFrequency());
+        recurring.setInterval(request.getInterval() != null ? request.getInterval() : 1);
+        recurring.setStartDate(request.getStartDate());
+        recurring.setEndDate(request.getEndDate());
+    }
+    
+    /**
+     * Helper: Verify user exists
+     */
+    private void verifyUserExists(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+    
+    /**
+     * Helper: Convert RecurringTransaction entity to Response DTO
+     */
+    private RecurringTransactionResponse convertToResponse(RecurringTransaction recurring) {
+        return RecurringTransactionResponse.builder()
+                .id(recurring.getId())
+                .amount(recurring.getAmount())
+                .description(recurring.getDescription())
+                .category(recurring.getCategory())
+                .type(recurring.getType())
+                .frequency(recurring.getFrequency())
+                .interval(recurring.getInterval())
+                .startDate(recurring.getStartDate())
+                .endDate(recurring.getEndDate())
+                .nextOccurrence(recurring.getNextOccurrence())
+                .active(recurring.getActive())
+                .createdAt(recurring.getCreatedAt())
+                .updatedAt(recurring.getUpdatedAt())
+                .build();
+    }
+}
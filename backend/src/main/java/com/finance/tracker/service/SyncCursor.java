@@ -0,0 +1,67 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.repository.SyncJdbcRepository.Position;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Opaque sync cursor handed to clients: when it was issued, and how far each collection was read
+ *
+ * Encoded as issuedAt~xid.id~xid.id~xid.id~xid.id (epoch seconds, then the positions of
+ * transactions, budgets, categories and tombstones), in URL-safe base64. Ids are UUIDs, so they
+ * never contain either separator.
+ */
+record SyncCursor(LocalDateTime issuedAt, Position transactions, Position budgets,
+                  Position categories, Position deletions) {
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    /**
+     * Cursor of a full sync, before every change
+     */
+    static SyncCursor start(LocalDateTime issuedAt) {
+        return new SyncCursor(issuedAt, Position.START, Position.START, Position.START, Position.START);
+    }
+    
+    String encode() {
+        String text = issuedAt.toEpochSecond(ZoneOffset.UTC) + "~" + encode(transactions) + "~" +
+                encode(budgets) + "~" + encode(categories) + "~" + encode(deletions);
+        return ENCODER.encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static SyncCursor decode(String cursor) {
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("~", -1);
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("Invalid sync cursor");
+            }
+            return new SyncCursor(
+                    LocalDateTime.ofEpochSecond(Long.parseLong(parts[0]), 0, ZoneOffset.UTC),
+                    decodePosition(parts[1]),
+                    decodePosition(parts[2]),
+                    decodePosition(parts[3]),
+                    decodePosition(parts[4]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // Also covers malformed numbers and base64, which throw IllegalArgumentException subclasses
+            throw new IllegalArgumentException("Invalid sync cursor");
+        }
+    }
+    
+    private static String encode(Position position) {
+        return position.xid() + "." + (position.id() != null ? position.id() : "");
+    }
+    
+    private static Position decodePosition(String text) {
+        int dot = text.indexOf('.');
+        if (dot < 0) {
+            throw new IllegalArgumentException("Invalid sync cursor");
+        }
+        String id = text.substring(dot + 1);
+        return new Position(Long.parseLong(text.substring(0, dot)), id.isEmpty() ? null : id);
+    }
+}
@@ -0,0 +1,164 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.BudgetResponse;
+import com.finance.tracker.dto.CategoryResponse;
+import com.finance.tracker.dto.DeletedRecordDTO;
+import com.finance.tracker.dto.SyncResponse;
+import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.model.DeletedRecord;
+import com.finance.tracker.model.DeletedRecord.EntityType;
+import com.finance.tracker.repository.DeletedRecordRepository;
+import com.finance.tracker.repository.SyncJdbcRepository;
+import com.finance.tracker.repository.SyncJdbcRepository.Change;
+import com.finance.tracker.repository.SyncJdbcRepository.Position;
+import com.finance.tracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service layer for incremental client sync
+ *
+ * Returns records changed after the client's cursor, plus tombstones for deletions, read in commit
+ * order through SyncJdbcRepository. The cursor keeps a (change_xid, id) position per collection, so
+ * a page cut off at sync.max-changes resumes exactly after its last row: no change is skipped,
+ * however many rows one write touched or however long its transaction ran.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class SyncService {
+    
+    private final SyncJdbcRepository syncJdbcRepository;
+    private final DeletedRecordRepository deletedRecordRepository;
+    private final UserRepository userRepository;
+    private final int maxChanges;
+    private final long tombstoneRetentionDays;
+    
+    public SyncService(SyncJdbcRepository syncJdbcRepository,
+                       DeletedRecordRepository deletedRecordRepository,
+                       UserRepository userRepository,
+                       @Value("${sync.max-changes:1000}") int maxChanges,
+                       @Value("${sync.tombstone-retention-days:90}") long tombstoneRetentionDays) {
+        this.syncJdbcRepository = syncJdbcRepository;
+        this.deletedRecordRepository = deletedRecordRepository;
+        this.userRepository = userRepository;
+        this.maxChanges = maxChanges;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+    
+    /**
+     * Get everything that changed after the cursor (or everything, when no cursor is given)
+     */
+    public SyncResponse getChangesSince(String userId, String cursor) {
+        log.info("Fetching changes since cursor {} for user: {}", cursor, userId);
+        
+        verifyUserExists(userId);
+        
+        LocalDateTime now = LocalDateTime.now();
+        SyncCursor from = cursor != null ? SyncCursor.decode(cursor) : SyncCursor.start(now);
+        
+        // Tombstones older than the retention window are gone; the client has to start over
+        if (from.issuedAt().isBefore(now.minusDays(tombstoneRetentionDays))) {
+            return SyncResponse.builder()
+                    .cursor(null)
+                    .hasMore(false)
+                    .resetRequired(true)
+                    .transactions(List.of())
+                    .budgets(List.of())
+                    .categories(List.of())
+                    .deleted(List.of())
+                    .build();
+        }
+        
+        long horizon = syncJdbcRepository.currentHorizon();
+        int limit = maxChanges + 1;
+        
+        Batch<TransactionResponse> transactions = batch(
+                syncJdbcRepository.findTransactionChanges(userId, from.transactions(), horizon, limit), horizon);
+        Batch<BudgetResponse> budgets = batch(
+                syncJdbcRepository.findBudgetChanges(userId, from.budgets(), horizon, limit), horizon);
+        Batch<CategoryResponse> categories = batch(
+                syncJdbcRepository.findCategoryChanges(userId, from.categories(), horizon, limit), horizon);
+        Batch<DeletedRecordDTO> deleted = batch(
+                syncJdbcRepository.findDeletions(userId, from.deletions(), horizon, limit), horizon);
+        
+        SyncCursor next = new SyncCursor(now, transactions.next(), budgets.next(), categories.next(), deleted.next());
+        
+        return SyncResponse.builder()
+                .cursor(next.encode())
+                .hasMore(transactions.truncated() || budgets.truncated()
+                        || categories.truncated() || deleted.truncated())
+                .resetRequired(false)
+                .transactions(transactions.records())
+                .budgets(budgets.records())
+                .categories(categories.records())
+                .deleted(deleted.records())
+                .build();
+    }
+    
+    /**
+     * Leave a tombstone for every deleted transaction, in the deleting transaction
+     */
+    @EventListener
+    @Transactional
+    public void onTransactionsChanged(TransactionChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<DeletedRecord> tombstones = event.getChanges().stream()
+                .filter(TransactionChange::isDelete)
+                .map(change -> DeletedRecord.builder()
+                        .userId(event.getUserId())
+                        .entityType(EntityType.TRANSACTION)
+                        .entityId(change.getBefore().getId())
+                        .deletedAt(now)
+                        .build())
+                .toList();
+        if (!tombstones.isEmpty()) {
+            deletedRecordRepository.saveAll(tombstones);
+        }
+    }
+    
+    /**
+     * Purge tombstones that have outlived the retention window
+     */
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = deletedRecordRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        log.info("Purged {} expired tombstones", purged);
+    }
+    
+    /**
+     * Helper: Verify user exists
+     */
+    private void verifyUserExists(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+    
+    /**
+     * Helper: Cut a collection back to maxChanges rows and work out where the next call resumes
+     * A cut-off collection resumes after its last row; a complete one at the horizon, since every
+     * change below it has now been returned
+     */
+    private <T> Batch<T> batch(List<Change<T>> changes, long horizon) {
+        if (changes.size() <= maxChanges) {
+            return new Batch<>(changes.stream().map(Change::record).toList(), new Position(horizon, null), false);
+        }
+        List<Change<T>> page = changes.subList(0, maxChanges);
+        return new Batch<>(page.stream().map(Change::record).toList(), page.get(maxChanges - 1).position(), true);
+    }
+    
+    private record Batch<T>(List<T> records, Position next, boolean truncated) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.TransactionBatchOperation;
+import com.finance.tracker.dto.TransactionBatchRequest;
+import com.finance.tracker.dto.TransactionBatchResponse;
+import com.finance.tracker.dto.TransactionBatchResult;
+import com.finance.tracker.dto.TransactionBatchResult.Status;
+import com.finance.tracker.dto.TransactionRequest;
+import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.model.Transaction;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import com.finance.tracker.repository.TransactionRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.util.TimeOrderedUuid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service layer for applying batches of transaction mutations
+ * Operations are replayed in order against in-memory working copies, then the final state is
+ * written with JDBC batching inside a single database transaction
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TransactionBatchService {
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Apply an ordered list of create, update and delete operations
+     */
+    public TransactionBatchResponse applyBatch(String userId, TransactionBatchRequest request) {
+        List<TransactionBatchOperation> operations = request.getOperations();
+        log.info("Applying batch of {} operations for user: {}", operations.size(), userId);
+        
+        verifyUserExists(userId);
+        
+        // Load and lock every referenced transaction with one query, so originals are the rows replaced
+        Set<String> ids = operations.stream()
+                .map(TransactionBatchOperation::getId)
+                .filter(TimeOrderedUuid::isUuid)
+                .collect(Collectors.toSet());
+        Map<String, TransactionSnapshot> originals = new HashMap<>();
+        Map<String, Transaction> working = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Transaction transaction : transactionRepository.findByUserIdAndIdInForUpdate(userId, ids)) {
+                originals.put(transaction.getId(), TransactionSnapshot.of(transaction));
+                working.put(transaction.getId(), copyOf(transaction));
+            }
+        }
+        
+        List<Transaction> created = new ArrayList<>();
+        Set<String> updated = new LinkedHashSet<>();
+        Set<String> deleted = new LinkedHashSet<>();
+        List<TransactionBatchResult> results = new ArrayList<>(operations.size());
+        Map<TransactionBatchResult, Transaction> resultTransactions = new IdentityHashMap<>();
+        Map<String, List<TransactionBatchResult>> resultsById = new HashMap<>();
+        
+        for (int i = 0; i < operations.size(); i++) {
+            TransactionBatchOperation operation = operations.get(i);
+            TransactionBatchResult result = TransactionBatchResult.builder()
+                    .index(i)
+                    .op(operation.getOp())
+                    .id(operation.getId())
+                    .build();
+            results.add(result);
+            
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    if (operation.getTransaction() == null) {
+                        reject(result, Status.INVALID, "Transaction is required");
+                        continue;
+                    }
+                    Transaction transaction = Transaction.builder().id(TimeOrderedUuid.generate().toString()).build();
+                    applyRequest(transaction, operation.getTransaction());
+                    created.add(transaction);
+                    result.setId(transaction.getId());
+                    result.setStatus(Status.CREATED);
+                    resultTransactions.put(result, transaction);
+                }
+                case UPDATE -> {
+                    if (operation.getId() == null || operation.getTransaction() == null) {
+                        reject(result, Status.INVALID, "Id and transaction are required");
+                        continue;
+                    }
+                    Transaction transaction = working.get(operation.getId());
+                    if (transaction == null) {
+                        reject(result, Status.NOT_FOUND, "Transaction not found");
+                        continue;
+                    }
+                    applyRequest(transaction, operation.getTransaction());
+                    updated.add(transaction.getId());
+                    result.setStatus(Status.UPDATED);
+                    resultTransactions.put(result, transaction);
+                    resultsById.computeIfAbsent(transaction.getId(), id -> new ArrayList<>()).add(result);
+                }
+                case DELETE -> {
+                    if (operation.getId() == null) {
+                        reject(result, Status.INVALID, "Id is required");
+                        continue;
+                    }
+                    if (working.remove(operation.getId()) == null) {
+                        reject(result, Status.NOT_FOUND, "Transaction not found");
+                        continue;
+                    }
+                    updated.remove(operation.getId());
+                    deleted.add(operation.getId());
+                    result.setStatus(Status.DELETED);
+                    resultsById.computeIfAbsent(operation.getId(), id -> new ArrayList<>()).add(result);
+                }
+            }
+        }
+        
+        // Write the final state of every touched row
+        List<Transaction> updatedTransactions = updated.stream().map(working::get).toList();
+        Set<String> vanished = new HashSet<>(transactionJdbcRepository.batchDelete(userId, new ArrayList<>(deleted)));
+        vanished.addAll(transactionJdbcRepository.batchUpdate(userId, updatedTransactions));
+        transactionJdbcRepository.batchInsert(userId, created);
+        
+        // Loaded rows are locked, so this only catches a row removed by a writer that skips the row lock;
+        // every operation on it fails and no change is published for it
+        if (!vanished.isEmpty()) {
+            for (String id : vanished) {
+                for (TransactionBatchResult result : resultsById.get(id)) {
+                    reject(result, Status.NOT_FOUND, "Transaction not found");
+                    resultTransactions.remove(result);
+                }
+            }
+            deleted.removeAll(vanished);
+            updatedTransactions = updatedTransactions.stream()
+                    .filter(transaction -> !vanished.contains(transaction.getId()))
+                    .toList();
+        }
+        
+        List<TransactionChange> changes = new ArrayList<>();
+        deleted.forEach(id -> changes.add(new TransactionChange(originals.get(id), null)));
+        updatedTransactions.forEach(transaction -> changes.add(
+                new TransactionChange(originals.get(transaction.getId()), TransactionSnapshot.of(transaction))));
+        created.forEach(transaction -> changes.add(
+                new TransactionChange(null, TransactionSnapshot.of(transaction))));
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new TransactionChangedEvent(userId, changes));
+        }
+        
+        resultTransactions.forEach((result, transaction) -> result.setTransaction(convertToResponse(transaction)));
+        
+        int failed = (int) results.stream()
+                .filter(result -> result.getStatus() == Status.INVALID || result.getStatus() == Status.NOT_FOUND)
+                .count();
+        log.info("Batch applied for user {}: {} created, {} updated, {} deleted, {} failed",
+                userId, created.size(), updatedTransactions.size(), deleted.size(), failed);
+        
+        return TransactionBatchResponse.builder()
+                .appliedCount(results.size() - failed)
+                .failedCount(failed)
+                .results(results)
+                .build();
+    }
+    
+    /**
+     * Helper: Mark an operation as failed
+     */
+    private void reject(TransactionBatchResult result, Status status, String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+    
+    /**
+     * Helper: Copy request fields onto a working transaction
+     */
+    private void applyRequest(Transaction transaction, TransactionRequest request) {
+        transaction.setAmount(request.getAmount());
+        transaction.setDescription(request.getDescription());
+        transaction.setCategory(request.getCategory());
+        transaction.setType(request.getType());
+        transaction.setDate(request.getDate());
+    }
+    
+    /**
+     * Helper: Detached working copy, so edits never reach the persistence context
+     */
+    private Transaction copyOf(Transaction transaction) {
+        return Transaction.builder()
+                .id(transaction.getId())
+                .amount(transaction.getAmount())
+                .description(transaction.getDescription())
+                .category(transaction.getCategory())
+                .type(transaction.getType())
+                .date(transaction.getDate())
+                .createdAt(transaction.getCreatedAt())
+                .updatedAt(transaction.getUpdatedAt())
+                .build();
+    }
+    
+    /**
+     * Helper: Verify user exists
+     */
+    private void verifyUserExists(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+    
+    /**
+     * Helper: Convert Transaction entity to Response DTO
+     */
+    private TransactionResponse convertToResponse(Transaction transaction) {
+        return TransactionResponse.builder()
+                .id(transaction.getId())
+                .amount(transaction.getAmount())
+                .description(transaction.getDescription())
+                .category(transaction.getCategory())
+                .type(transaction.getType())
+                .date(transaction.getDate())
+                .createdAt(transaction.getCreatedAt())
+                .updatedAt(transaction.getUpdatedAt())
+                .build();
+    }
+}
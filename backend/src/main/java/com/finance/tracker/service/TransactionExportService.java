@@ -0,0 +1,151 @@
+package com.finance.tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.model.Transaction;
+import com.finance.tracker.repository.TransactionRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.util.CsvUtil;
+import com.finance.tracker.util.Money;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for exporting a user's full ledger
+ * Rows are read through a database cursor and written out as they arrive, so heap use
+ * does not grow with the size of the ledger
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TransactionExportService {
+    
+    public static final String CSV_HEADER = "id,date,type,category,description,amount";
+    
+    private static final int FLUSH_INTERVAL = 500;
+    
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Write all transactions as newline-delimited JSON
+     */
+    public long exportNdjson(String userId, OutputStream output) throws IOException {
+        log.info("Exporting transactions as NDJSON for user: {}", userId);
+        verifyUserExists(userId);
+        
+        ObjectWriter jsonWriter = objectMapper.writerFor(TransactionResponse.class);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            return forEachTransaction(userId, writer, transaction -> {
+                try {
+                    writer.write(jsonWriter.writeValueAsString(convertToResponse(transaction)));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Write all transactions as CSV with a header row
+     */
+    public long exportCsv(String userId, OutputStream output) throws IOException {
+        log.info("Exporting transactions as CSV for user: {}", userId);
+        verifyUserExists(userId);
+        
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            return forEachTransaction(userId, writer, transaction -> {
+                try {
+                    writer.write(transaction.getId());
+                    writer.write(',');
+                    writer.write(transaction.getDate().toString());
+                    writer.write(',');
+                    writer.write(transaction.getType().name());
+                    writer.write(',');
+                    writer.write(CsvUtil.escape(transaction.getCategory()));
+                    writer.write(',');
+                    writer.write(CsvUtil.escape(transaction.getDescription()));
+                    writer.write(',');
+                    writer.write(Money.format(transaction.getAmount()));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Helper: Walk the cursor, detaching each row once written and flushing in chunks
+     */
+    private long forEachTransaction(String userId, Writer writer, RowWriter rowWriter) throws IOException {
+        long count = 0;
+        try (Stream<Transaction> transactions = transactionRepository.streamByUserId(userId)) {
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                rowWriter.write(transaction);
+                entityManager.detach(transaction);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} transactions for user: {}", count, userId);
+        return count;
+    }
+    
+    /**
+     * Helper: Verify user exists
+     */
+    private void verifyUserExists(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+    
+    /**
+     * Helper: Convert Transaction entity to Response DTO
+     */
+    private TransactionResponse convertToResponse(Transaction transaction) {
+        return TransactionResponse.builder()
+                .id(transaction.getId())
+                .amount(transaction.getAmount())
+                .description(transaction.getDescription())
+                .category(transaction.getCategory())
+                .type(transaction.getType())
+                .date(transaction.getDate())
+                .createdAt(transaction.getCreatedAt())
+                .updatedAt(transaction.getUpdatedAt())
+                .build();
+    }
+    
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Transaction transaction);
+    }
+}
@@ -0,0 +1,279 @@
+package com.finance.tracker.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.tracker.dto.TransactionImportError;
+import com.finance.tracker.dto.TransactionImportResponse;
+import com.finance.tracker.dto.TransactionRequest;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.model.Transaction;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.util.CsvUtil;
+import com.finance.tracker.util.Money;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service layer for bulk Transaction imports
+ * Streams CSV or JSON input, validates each row and writes accepted rows in JDBC batches
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TransactionImportService {
+    
+    public static final int MAX_IMPORT_ROWS = 100_000;
+    
+    private static final List<String> CSV_COLUMNS = List.of("amount", "description", "category", "type", "date");
+    
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    
+    /**
+     * Import transactions from a CSV document with a header row
+     */
+    public TransactionImportResponse importCsv(String userId, InputStream input) throws IOException {
+        log.info("Importing CSV transactions for user: {}", userId);
+        verifyUserExists(userId);
+        
+        ImportBatch batch = new ImportBatch(userId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return batch.finish();
+            }
+            Map<String, Integer> columns = parseHeader(header);
+            
+            String record;
+            while ((record = readRecord(reader)) != null) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                int row = batch.nextRow();
+                try {
+                    List<String> fields = CsvUtil.parseLine(record);
+                    batch.accept(row, toRequest(fields, columns));
+                } catch (IllegalArgumentException e) {
+                    batch.reject(row, e.getMessage());
+                }
+            }
+        }
+        return batch.finish();
+    }
+    
+    /**
+     * Import transactions from a JSON array of transaction objects
+     */
+    public TransactionImportResponse importJson(String userId, InputStream input) throws IOException {
+        log.info("Importing JSON transactions for user: {}", userId);
+        verifyUserExists(userId);
+        
+        ImportBatch batch = new ImportBatch(userId);
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of transactions");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                int row = batch.nextRow();
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    batch.accept(row, objectMapper.treeToValue(node, TransactionRequest.class));
+                } catch (JsonProcessingException e) {
+                    batch.reject(row, "Malformed transaction: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return batch.finish();
+    }
+    
+    /**
+     * Helper: Map CSV column names to their positions
+     */
+    private Map<String, Integer> parseHeader(String header) {
+        List<String> names = CsvUtil.parseLine(header.replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+        return columns;
+    }
+    
+    /**
+     * Helper: Read one CSV record, joining lines while a quoted field is still open
+     */
+    private String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (countQuotes(record) % 2 != 0) {
+            String next = reader.readLine();
+            if (next == null) {
+                break;
+            }
+            record.append('\n').append(next);
+        }
+        return record.toString();
+    }
+    
+    private int countQuotes(CharSequence value) {
+        int count = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Helper: Convert CSV fields into a request, reporting unparseable values
+     */
+    private TransactionRequest toRequest(List<String> fields, Map<String, Integer> columns) {
+        String amount = field(fields, columns, "amount");
+        String type = field(fields, columns, "type");
+        String date = field(fields, columns, "date");
+        
+        TransactionRequest request = new TransactionRequest();
+        request.setDescription(field(fields, columns, "description"));
+        request.setCategory(field(fields, columns, "category"));
+        request.setAmount(amount.isEmpty() ? null : Money.parse(amount));
+        try {
+            request.setType(type.isEmpty() ? null : TransactionType.valueOf(type.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid type: " + type);
+        }
+        try {
+            request.setDate(date.isEmpty() ? null : parseDate(date));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid date: " + date);
+        }
+        return request;
+    }
+    
+    private String field(List<String> fields, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+    
+    private LocalDateTime parseDate(String value) {
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+    
+    /**
+     * Helper: Verify user exists
+     */
+    private void verifyUserExists(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+    
+    /**
+     * Accumulates validated rows and flushes them in JDBC batches
+     */
+    private class ImportBatch {
+        
+        private final String userId;
+        private final List<Transaction> pending = new ArrayList<>(TransactionJdbcRepository.BATCH_SIZE);
+        private final List<TransactionImportError> errors = new ArrayList<>();
+        private int rows;
+        private int imported;
+        
+        ImportBatch(String userId) {
+            this.userId = userId;
+        }
+        
+        int nextRow() {
+            if (rows >= MAX_IMPORT_ROWS) {
+                throw new IllegalArgumentException("Import is limited to " + MAX_IMPORT_ROWS + " rows");
+            }
+            return ++rows;
+        }
+        
+        void accept(int row, TransactionRequest request) {
+            Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            
+            pending.add(Transaction.builder()
+                    .amount(request.getAmount())
+                    .description(request.getDescription())
+                    .category(request.getCategory())
+                    .type(request.getType())
+                    .date(request.getDate())
+                    .build());
+            if (pending.size() >= TransactionJdbcRepository.BATCH_SIZE) {
+                flush();
+            }
+        }
+        
+        void reject(int row, String message) {
+            errors.add(TransactionImportError.builder().row(row).message(message).build());
+        }
+        
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            transactionJdbcRepository.batchInsert(userId, pending);
+            // Listeners coalesce per budget key, so each affected budget is marked once per batch
+            eventPublisher.publishEvent(TransactionChangedEvent.createdAll(userId, pending));
+            imported += pending.size();
+            pending.clear();
+        }
+        
+        TransactionImportResponse finish() {
+            flush();
+            
+            log.info("Imported {} of {} transactions for user: {}", imported, rows, userId);
+            return TransactionImportResponse.builder()
+                    .totalRows(rows)
+                    .importedCount(imported)
+                    .failedCount(errors.size())
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
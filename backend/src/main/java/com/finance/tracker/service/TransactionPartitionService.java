@@ -0,0 +1,91 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.repository.TransactionPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keeps the monthly partitions of the transactions table ahead of the calendar
+ *
+ * Partitions for the current month and the next few months are created at startup and daily,
+ * so inserts never land in the default partition under normal use. When a retention period is
+ * configured, partitions older than it are detached; the detached tables keep their data for
+ * archiving but no longer show up in queries, and their month is dropped from the analytics rollup.
+ */
+@Service
+@Slf4j
+public class TransactionPartitionService {
+    
+    private final TransactionPartitionRepository partitionRepository;
+    private final MonthlyRollupService rollupService;
+    private final ColumnarAnalyticsEngine columnarEngine;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    
+    public TransactionPartitionService(TransactionPartitionRepository partitionRepository,
+                                       MonthlyRollupService rollupService,
+                                       ColumnarAnalyticsEngine columnarEngine,
+                                       @Value("${transactions.partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${transactions.partitions.retention-months:0}") int retentionMonths) {
+        this.partitionRepository = partitionRepository;
+        this.rollupService = rollupService;
+        this.columnarEngine = columnarEngine;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+    
+    /**
+     * Create missing partitions and detach expired ones
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transactions.partitions.maintenance-cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            partitionRepository.createPartition(current.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            detachOlderThan(current.minusMonths(retentionMonths));
+        }
+    }
+    
+    /**
+     * Detach a single month's partition for archiving
+     */
+    public void detachPartition(YearMonth month) {
+        log.info("Detaching transactions partition {}", TransactionPartitionRepository.partitionName(month));
+        if (!partitionRepository.detachPartition(month)) {
+            // Another instance detached it first and dropped the month itself
+            log.info("Transactions partition {} is not attached", TransactionPartitionRepository.partitionName(month));
+            return;
+        }
+        // The month no longer shows up in transactions, so drop it from analytics too
+        rollupService.dropMonth(month);
+        columnarEngine.invalidateAll();
+    }
+    
+    /**
+     * Helper: Detach every monthly partition before the cutoff month
+     */
+    private void detachOlderThan(YearMonth cutoff) {
+        for (String partition : partitionRepository.findAttachedPartitions()) {
+            YearMonth month;
+            try {
+                month = YearMonth.parse(partition.substring(TransactionPartitionRepository.PARTITION_PREFIX.length()),
+                        TransactionPartitionRepository.PARTITION_SUFFIX);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+            if (month.isBefore(cutoff)) {
+                detachPartition(month);
+            }
+        }
+    }
+}
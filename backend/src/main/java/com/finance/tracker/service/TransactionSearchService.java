@@ -0,0 +1,93 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.dto.TransactionSearchResponse;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.repository.TransactionSearchRepository;
+import com.finance.tracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Service layer for searching transactions by description and category
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TransactionSearchService {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_RESULT_WINDOW = 1000;
+    
+    private static final int MAX_TERMS = 8;
+    
+    private final TransactionSearchRepository transactionSearchRepository;
+    private final UserRepository userRepository;
+    
+    /**
+     * Search a user's transactions; every term must match, and each term also matches as a prefix
+     */
+    public TransactionSearchResponse search(String userId, String query, Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = pageNumber * pageSize;
+        if (offset + pageSize > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_RESULT_WINDOW + " matches");
+        }
+        
+        String tsQuery = toTsQuery(query);
+        log.info("Searching transactions for user {} with query: {}", userId, tsQuery);
+        
+        verifyUserExists(userId);
+        
+        List<TransactionResponse> items = transactionSearchRepository.search(userId, tsQuery, pageSize + 1, offset);
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+        
+        return TransactionSearchResponse.builder()
+                .query(query)
+                .items(items)
+                .page(pageNumber)
+                .size(pageSize)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * Helper: Build a prefix-matching tsquery from free text
+     * Only letters and digits survive, so user input can never inject tsquery operators
+     */
+    private String toTsQuery(String query) {
+        List<String> terms = query == null ? List.of() : Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain letters or digits");
+        }
+        return terms.stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+    
+    /**
+     * Helper: Verify user exists
+     */
+    private void verifyUserExists(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+    }
+}
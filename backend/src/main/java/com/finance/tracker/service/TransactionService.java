@@ -1,21 +1,27 @@
 package com.finance.tracker.service;
 
+import com.finance.tracker.dto.TransactionPageResponse;
 import com.finance.tracker.dto.TransactionRequest;
 import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.event.TransactionSnapshot;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.Transaction;
 import com.finance.tracker.model.Transaction.TransactionType;
 import com.finance.tracker.model.User;
 import com.finance.tracker.repository.TransactionRepository;
 import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service layer for Transaction Management
@@ -27,9 +33,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class TransactionService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    // Open-ended page filters become these bounds, keeping the date predicate prunable
+    private static final LocalDateTime EARLIEST_DATE = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
-    private final BudgetService budgetService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Get all transactions for a user
@@ -41,12 +54,74 @@ public class TransactionService {
         // Verify user exists
         verifyUserExists(userId);
         
-        List<Transaction> transactions = transactionRepository.findByUserIdOrderByDateDesc(userId);
+        List<TransactionResponse> transactions = transactionRepository.findResponsesByUserId(userId);
         log.info("Found {} transactions for user: {}", transactions.size(), userId);
         
-        return transactions.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return transactions;
+    }
+    
+    /**
+     * Get one page of transactions using keyset pagination on (date, id)
+     * Fetches one extra row to detect whether another page follows
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionsPage(String userId, String cursor, Integer limit,
+                                                       TransactionType type, String category,
+                                                       LocalDateTime startDate, LocalDateTime endDate) {
+        return transactionsPage(userId, cursor, limit, type, category, startDate, endDate, true);
+    }
+    
+    /**
+     * Dashboard section: the newest transactions of a user the caller has already verified
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getRecentTransactionsForVerifiedUser(String userId, int limit) {
+        return transactionsPage(userId, null, limit, null, null, null, null, false);
+    }
+    
+    private TransactionPageResponse transactionsPage(String userId, String cursor, Integer limit,
+                                                     TransactionType type, String category,
+                                                     LocalDateTime startDate, LocalDateTime endDate,
+                                                     boolean verifyUser) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        log.info("Fetching transaction page for user: {} (limit {})", userId, pageSize);
+        
+        if (verifyUser) {
+            verifyUserExists(userId);
+        }
+        
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        LocalDateTime from = startDate != null ? startDate : EARLIEST_DATE;
+        LocalDateTime to = endDate != null ? endDate : LATEST_DATE;
+        List<TransactionResponse> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findFirstPage(
+                    userId, type, category, from, to, pageable
+            );
+        } else {
+            CursorUtil.Position position = CursorUtil.decode(cursor);
+            transactions = transactionRepository.findPageAfter(
+                    userId, position.date(), position.id(), type, category, from, to, pageable
+            );
+        }
+        
+        boolean hasMore = transactions.size() > pageSize;
+        if (hasMore) {
+            transactions = transactions.subList(0, pageSize);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponse last = transactions.get(transactions.size() - 1);
+            nextCursor = CursorUtil.encode(last.getDate(), last.getId());
+        }
+        
+        return TransactionPageResponse.builder()
+                .items(transactions)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
     }
     
     /**
@@ -56,7 +131,7 @@ public class TransactionService {
     public TransactionResponse getTransactionById(String userId, String transactionId) {
         log.info("Fetching transaction {} for user: {}", transactionId, userId);
         
-        Transaction transaction = transactionRepository.findById(transactionId)
+        Transaction transaction = transactionRepository.findByIdIfUuid(transactionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", transactionId));
         
         // Verify transaction belongs to user
@@ -90,11 +165,8 @@ public class TransactionService {
         transaction = transactionRepository.save(transaction);
         log.info("Transaction created with ID: {}", transaction.getId());
         
-        // Update budget if it's an expense
-        if (request.getType() == TransactionType.EXPENSE) {
-            budgetService.updateBudgetSpent(userId, request.getCategory(), 
-                    request.getDate().getMonthValue(), request.getDate().getYear());
-        }
+        // Notify listeners so derived data such as budget spent is refreshed
+        eventPublisher.publishEvent(TransactionChangedEvent.created(userId, transaction));
         
         return convertToResponse(transaction);
     }
@@ -105,7 +177,7 @@ public class TransactionService {
     public TransactionResponse updateTransaction(String userId, String transactionId, TransactionRequest request) {
         log.info("Updating transaction {} for user: {}", transactionId, userId);
         
-        Transaction transaction = transactionRepository.findById(transactionId)
+        Transaction transaction = transactionRepository.findByIdForUpdateIfUuid(transactionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", transactionId));
         
         // Verify transaction belongs to user
@@ -114,10 +186,7 @@ public class TransactionService {
         }
         
         // Store old values for budget recalculation
-        String oldCategory = transaction.getCategory();
-        TransactionType oldType = transaction.getType();
-        int oldMonth = transaction.getDate().getMonthValue();
-        int oldYear = transaction.getDate().getYear();
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
         
         // Update transaction
         transaction.setAmount(request.getAmount());
@@ -129,14 +198,8 @@ public class TransactionService {
         transaction = transactionRepository.save(transaction);
         log.info("Transaction updated successfully: {}", transactionId);
         
-        // Update budgets if needed
-        if (oldType == TransactionType.EXPENSE) {
-            budgetService.updateBudgetSpent(userId, oldCategory, oldMonth, oldYear);
-        }
-        if (request.getType() == TransactionType.EXPENSE) {
-            budgetService.updateBudgetSpent(userId, request.getCategory(), 
-                    request.getDate().getMonthValue(), request.getDate().getYear());
-        }
+        // Notify listeners with both old and new values
+        eventPublisher.publishEvent(TransactionChangedEvent.updated(userId, before, transaction));
         
         return convertToResponse(transaction);
     }
@@ -147,7 +210,7 @@ public class TransactionService {
     public void deleteTransaction(String userId, String transactionId) {
         log.info("Deleting transaction {} for user: {}", transactionId, userId);
         
-        Transaction transaction = transactionRepository.findById(transactionId)
+        Transaction transaction = transactionRepository.findByIdForUpdateIfUuid(transactionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction", "id", transactionId));
         
         // Verify transaction belongs to user
@@ -156,18 +219,13 @@ public class TransactionService {
         }
         
         // Store values for budget recalculation
-        String category = transaction.getCategory();
-        TransactionType type = transaction.getType();
-        int month = transaction.getDate().getMonthValue();
-        int year = transaction.getDate().getYear();
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
         
         transactionRepository.delete(transaction);
         log.info("Transaction deleted successfully: {}", transactionId);
         
-        // Update budget if it was an expense
-        if (type == TransactionType.EXPENSE) {
-            budgetService.updateBudgetSpent(userId, category, month, year);
-        }
+        // Notify listeners so derived data such as budget spent is refreshed
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(userId, before));
     }
     
     /**
@@ -179,11 +237,7 @@ public class TransactionService {
         
         verifyUserExists(userId);
         
-        List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
-        
-        return transactions.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return transactionRepository.findResponsesByUserIdAndDateBetween(userId, startDate, endDate);
     }
     
     /**
@@ -0,0 +1,53 @@
+package com.finance.tracker.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding keyset pagination cursors
+ * A cursor captures the (date, id) position of the last row returned to the client
+ */
+public final class CursorUtil {
+    
+    private static final String SEPARATOR = "|";
+    
+    private CursorUtil() {
+    }
+    
+    /**
+     * Encode a (date, id) position into an opaque URL-safe token
+     */
+    public static String encode(LocalDateTime date, String id) {
+        String raw = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a token produced by {@link #encode(LocalDateTime, String)}
+     * Throws IllegalArgumentException for malformed tokens
+     */
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || !TimeOrderedUuid.isUuid(raw.substring(separator + 1))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Position(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1)
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    /**
+     * Decoded cursor position
+     */
+    public record Position(LocalDateTime date, String id) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.finance.tracker.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utility for money amounts, which are held as a whole number of cents
+ * On the wire amounts stay decimal numbers with at most two fractional digits
+ */
+public final class Money {
+    
+    public static final int SCALE = 2;
+    
+    private Money() {
+    }
+    
+    /**
+     * Convert a decimal amount to cents, rejecting more than two fractional digits
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+    
+    /**
+     * Parse a decimal amount such as "12.50" to cents
+     */
+    public static long parse(String amount) {
+        try {
+            return toCents(new BigDecimal(amount.trim()));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+    }
+    
+    /**
+     * Convert cents back to a decimal amount with two fractional digits
+     */
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+    
+    /**
+     * Format cents as a plain decimal string such as "12.50"
+     */
+    public static String format(long cents) {
+        return toDecimal(cents).toPlainString();
+    }
+    
+    /**
+     * Share of part in total as a percentage, or 0 when the total is not positive
+     */
+    public static double percentage(long part, long total) {
+        return total > 0 ? part * 100.0 / total : 0.0;
+    }
+    
+    /**
+     * Writes cents as a decimal JSON number
+     */
+    public static class Serializer extends JsonSerializer<Long> {
+        
+        @Override
+        public void serialize(Long cents, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(toDecimal(cents));
+        }
+    }
+    
+    /**
+     * Reads a decimal JSON number (or numeric string) as cents
+     */
+    public static class Deserializer extends JsonDeserializer<Long> {
+        
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String text = p.getText();
+            try {
+                BigDecimal amount = p.currentToken().isNumeric()
+                        ? p.getDecimalValue()
+                        : new BigDecimal(text.trim());
+                return toCents(amount);
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw InvalidFormatException.from(p,
+                        "Amount must be a number with at most " + SCALE + " decimal places", text, Long.class);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.finance.tracker.util;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * First and last day of a budget month
+ */
+public record MonthBounds(LocalDate start, LocalDate end) {
+    
+    public static MonthBounds of(Integer month, Integer year) {
+        return of(YearMonth.of(year, month));
+    }
+    
+    public static MonthBounds of(YearMonth month) {
+        return new MonthBounds(month.atDay(1), month.atEndOfMonth());
+    }
+    
+    /**
+     * Number of days in the month
+     */
+    public int length() {
+        return end.getDayOfMonth();
+    }
+    
+    /**
+     * Days from the start of the month up to and including the given day, clamped to the month
+     */
+    public int daysElapsed(LocalDate day) {
+        if (day.isBefore(start)) {
+            return 0;
+        }
+        return day.isAfter(end) ? length() : day.getDayOfMonth();
+    }
+}
@@ -0,0 +1,50 @@
+package com.finance.tracker.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for time-ordered (version 7) UUIDs
+ *
+ * The top 48 bits hold the Unix time in milliseconds, so ids generated later sort later and new
+ * rows are appended to the right edge of a primary-key B-tree instead of landing at random pages.
+ * The 12 bits after the version act as a counter within a millisecond, keeping ids from this JVM
+ * strictly increasing.
+ */
+public final class TimeOrderedUuid {
+    
+    /**
+     * Regex for a canonical UUID string, usable in request mapping path patterns
+     */
+    public static final String PATTERN =
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+    
+    private static final Pattern UUID_PATTERN = Pattern.compile(PATTERN);
+    
+    // Unix millis shifted left 12 bits, plus the per-millisecond counter in the low 12 bits
+    private static final AtomicLong LAST = new AtomicLong();
+    
+    private TimeOrderedUuid() {
+    }
+    
+    /**
+     * Generate a new version 7 UUID
+     */
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << 12;
+        // A counter overflow simply borrows from the next millisecond
+        long next = LAST.updateAndGet(previous -> Math.max(previous + 1, now));
+        long mostSigBits = ((next >>> 12) << 16) | 0x7000L | (next & 0xFFFL);
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+    
+    /**
+     * Check whether a string is a canonical UUID
+     */
+    public static boolean isUuid(String value) {
+        return value != null && UUID_PATTERN.matcher(value).matches();
+    }
+}
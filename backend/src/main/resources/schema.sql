@@ -0,0 +1,192 @@
+-- Schema objects that JPA annotations cannot express.
+-- Runs after Hibernate's schema update (spring.jpa.defer-datasource-initialization=true),
+-- so every statement must be idempotent.
+
+-- Full-text search over transaction description (weight A) and category (weight B)
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(description, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(category, '')), 'B')
+    ) STORED;
+
+-- Money columns moved from double precision to whole cents (bigint).
+-- Converts only columns that are still double precision, so it runs once per column.
+-- The block is a single-quoted string so the script splitter keeps it in one statement.
+DO '
+DECLARE
+    money_column RECORD;
+BEGIN
+    FOR money_column IN
+        SELECT table_name, column_name
+        FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND data_type = ''double precision''
+          AND (table_name, column_name) IN (
+              (''transactions'', ''amount''),
+              (''recurring_transactions'', ''amount''),
+              (''budgets'', ''amount''),
+              (''budgets'', ''spent''),
+              (''goals'', ''target_amount''),
+              (''goals'', ''current_amount''))
+    LOOP
+        EXECUTE format(''ALTER TABLE %I ALTER COLUMN %I TYPE BIGINT USING ROUND(%I * 100)::BIGINT'',
+                       money_column.table_name, money_column.column_name, money_column.column_name);
+    END LOOP;
+END';
+
+-- Monthly range partitioning of transactions on date.
+-- create_transactions_partition(month) creates the partition for one month (no-op when it exists).
+-- Rows for that month already sitting in the default partition are moved into the new partition,
+-- since Postgres refuses to create a partition whose rows are in the default one.
+-- Creating and detaching partitions take one transaction-scoped advisory lock and re-check under it,
+-- so instances maintaining partitions at the same time wait for each other instead of failing.
+CREATE OR REPLACE FUNCTION create_transactions_partition(month_start DATE) RETURNS TEXT
+LANGUAGE plpgsql AS '
+DECLARE
+    range_start DATE := date_trunc(''month'', month_start)::DATE;
+    range_end DATE := (date_trunc(''month'', month_start) + INTERVAL ''1 month'')::DATE;
+    partition_name TEXT := ''transactions_p'' || to_char(month_start, ''YYYYMM'');
+    -- Every stored column; generated ones (search_vector) are recomputed on insert
+    columns TEXT := (SELECT string_agg(quote_ident(column_name), '', '' ORDER BY ordinal_position)
+                     FROM information_schema.columns
+                     WHERE table_schema = current_schema() AND table_name = ''transactions''
+                       AND is_generated = ''NEVER'');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+    PERFORM pg_advisory_xact_lock(hashtext(''transactions_partitions''));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+    IF EXISTS (SELECT 1 FROM transactions_default WHERE date >= range_start AND date < range_end) THEN
+        EXECUTE format(''CREATE TEMP TABLE transactions_moved ON COMMIT DROP AS ''
+                       ''SELECT %s FROM transactions_default WHERE date >= %L AND date < %L'',
+                       columns, range_start, range_end);
+        DELETE FROM transactions_default WHERE date >= range_start AND date < range_end;
+        EXECUTE format(''CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)'',
+                       partition_name, range_start, range_end);
+        EXECUTE format(''INSERT INTO transactions (%s) SELECT %s FROM transactions_moved'', columns, columns);
+        EXECUTE ''DROP TABLE transactions_moved'';
+    ELSE
+        EXECUTE format(''CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)'',
+                       partition_name, range_start, range_end);
+    END IF;
+    RETURN partition_name;
+END';
+
+-- detach_transactions_partition(month) detaches the partition for one month, leaving it as a
+-- standalone table; returns false when it is not attached, e.g. because another instance detached it.
+CREATE OR REPLACE FUNCTION detach_transactions_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS '
+DECLARE
+    partition_name TEXT := ''transactions_p'' || to_char(month_start, ''YYYYMM'');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(''transactions_partitions''));
+    IF NOT EXISTS (SELECT 1 FROM pg_inherits
+                   WHERE inhparent = to_regclass(''transactions'') AND inhrelid = to_regclass(partition_name)) THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format(''ALTER TABLE transactions DETACH PARTITION %I'', partition_name);
+    RETURN TRUE;
+END';
+
+-- One-time conversion of a plain transactions table (as created by Hibernate) into a partitioned one.
+-- The primary key has to include the partition key, so it becomes (id, date).
+DO '
+DECLARE
+    first_month DATE;
+    last_month DATE;
+    month_start DATE;
+    columns TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(''transactions'') AND relkind = ''p'') THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+    CREATE TABLE transactions (
+        LIKE transactions_unpartitioned INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING CONSTRAINTS
+    ) PARTITION BY RANGE (date);
+    ALTER TABLE transactions ADD PRIMARY KEY (id, date);
+    CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+    SELECT date_trunc(''month'', min(date))::DATE, date_trunc(''month'', max(date))::DATE
+    INTO first_month, last_month
+    FROM transactions_unpartitioned;
+    month_start := COALESCE(first_month, date_trunc(''month'', now())::DATE);
+    WHILE month_start <= COALESCE(last_month, month_start) LOOP
+        PERFORM create_transactions_partition(month_start);
+        month_start := (month_start + INTERVAL ''1 month'')::DATE;
+    END LOOP;
+
+    SELECT string_agg(quote_ident(column_name), '', '' ORDER BY ordinal_position)
+    INTO columns
+    FROM information_schema.columns
+    WHERE table_schema = current_schema() AND table_name = ''transactions_unpartitioned''
+      AND is_generated = ''NEVER'';
+    EXECUTE format(''INSERT INTO transactions (%s) SELECT %s FROM transactions_unpartitioned'', columns, columns);
+    DROP TABLE transactions_unpartitioned;
+
+    CREATE INDEX idx_user_date ON transactions (user_id, date);
+    CREATE INDEX idx_user_type ON transactions (user_id, type);
+    ALTER TABLE transactions ADD CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id);
+END';
+
+-- Transaction and budget ids moved from varchar to native uuid (new ids are time-ordered v7 UUIDs).
+-- Existing random v4 ids are valid UUIDs and convert in place; runs once per column.
+DO '
+DECLARE
+    id_column RECORD;
+BEGIN
+    FOR id_column IN
+        SELECT table_name
+        FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND column_name = ''id''
+          AND data_type = ''character varying''
+          AND table_name IN (''transactions'', ''budgets'')
+    LOOP
+        EXECUTE format(''ALTER TABLE %I ALTER COLUMN id TYPE uuid USING id::uuid'', id_column.table_name);
+    END LOOP;
+END';
+
+-- Sync change stamps (see SyncJdbcRepository).
+-- Every insert or update of a synced row stamps change_xid with the id of the writing transaction
+-- (64-bit, so it never wraps). Sync reads rows in (change_xid, id) order and only below the oldest
+-- transaction id still running, so a row written by a long transaction is returned once it commits
+-- rather than skipped. Existing rows keep 0 and come with the next full sync.
+CREATE OR REPLACE FUNCTION stamp_change_xid() RETURNS TRIGGER
+LANGUAGE plpgsql AS '
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END';
+
+DO '
+DECLARE
+    synced_table TEXT;
+BEGIN
+    FOREACH synced_table IN ARRAY ARRAY[''transactions'', ''budgets'', ''custom_categories'', ''deleted_records''] LOOP
+        EXECUTE format(''ALTER TABLE %I ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT 0'', synced_table);
+        IF NOT EXISTS (SELECT 1 FROM pg_trigger
+                       WHERE tgrelid = to_regclass(synced_table) AND tgname = synced_table || ''_stamp_change_xid'') THEN
+            EXECUTE format(''CREATE TRIGGER %I BEFORE INSERT OR UPDATE ON %I ''
+                           ''FOR EACH ROW EXECUTE FUNCTION stamp_change_xid()'',
+                           synced_table || ''_stamp_change_xid'', synced_table);
+        END IF;
+        EXECUTE format(''CREATE INDEX IF NOT EXISTS %I ON %I (user_id, change_xid, id)'',
+                       ''idx_'' || synced_table || ''_user_change'', synced_table);
+    END LOOP;
+END';
+
+-- The (user_id, updated_at) indexes served the timestamp watermark that change_xid replaced
+DROP INDEX IF EXISTS idx_transactions_user_updated;
+DROP INDEX IF EXISTS idx_budgets_user_updated;
+DROP INDEX IF EXISTS idx_categories_user_updated;
+
+-- Full-text search index, scoped to the user: btree_gin lets user_id lead the GIN index, so a search
+-- only reads posting lists of the searching user's rows. Replaces the global search_vector index.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+DROP INDEX IF EXISTS idx_transactions_search;
+CREATE INDEX IF NOT EXISTS idx_transactions_user_search ON transactions USING GIN (user_id, search_vector);
@@ -0,0 +1,56 @@
+package com.finance.tracker.benchmark;
+
+import com.finance.tracker.FinanceTrackerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL settings shared by the database benchmarks
+ *
+ * Read from BENCHMARK_DATABASE_URL, BENCHMARK_DB_USERNAME and BENCHMARK_DB_PASSWORD. Point them at
+ * a scratch database: benchmarks create, fill and drop their own tables and users.
+ */
+final class BenchmarkDatabase {
+
+    static final String URL = env("BENCHMARK_DATABASE_URL",
+            "jdbc:postgresql://localhost:5432/finance_tracker_bench?reWriteBatchedInserts=true");
+    static final String USERNAME = env("BENCHMARK_DB_USERNAME", "postgres");
+    static final String PASSWORD = env("BENCHMARK_DB_PASSWORD", "postgres");
+
+    private BenchmarkDatabase() {
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    }
+
+    /**
+     * Start the application without a web server, on the benchmark database and with quiet logging
+     * Command line arguments, so they take precedence over application.properties
+     */
+    static ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(FinanceTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + URL,
+                        "--spring.datasource.username=" + USERNAME,
+                        "--spring.datasource.password=" + PASSWORD,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.finance.tracker=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
@@ -0,0 +1,144 @@
+package com.finance.tracker.benchmark;
+
+import com.finance.tracker.dto.TransactionResponse;
+import com.finance.tracker.model.Transaction;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.model.User;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import com.finance.tracker.repository.TransactionRepository;
+import com.finance.tracker.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction listing: managed entities converted to responses, against the constructor projection
+ *
+ * The entity paths are the listing as it was, loading Transaction entities and converting each one,
+ * in a read-write and in a read-only transaction (a read-only session keeps no dirty-checking
+ * snapshots). The projection path is findResponsesByUserIdAndDateBetween as the service calls it
+ * now. Run with -prof gc to compare allocation per listing alongside the time.
+ *
+ * Needs PostgreSQL, see BenchmarkDatabase:
+ * mvn test -Pbenchmarks -Dbenchmark.args="ListingProjection -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingProjectionBenchmark {
+
+    private static final String[] CATEGORIES = {"Food", "Rent", "Transport", "Utilities", "Entertainment", "Salary"};
+
+    @Param({"1000", "10000"})
+    int transactions;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private String userId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.startApplication();
+        transactionRepository = context.getBean(TransactionRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .email("listing-bench-" + suffix + "@example.com")
+                .username("listing-bench-" + suffix)
+                .password("benchmark")
+                .build());
+        userId = user.getId();
+
+        // A year of history, so the listing reads every row of the user
+        to = LocalDateTime.now();
+        from = to.minusYears(1);
+        Random random = new Random(42);
+        List<Transaction> rows = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            boolean income = random.nextInt(10) == 0;
+            rows.add(Transaction.builder()
+                    .amount(1L + random.nextInt(100_000))
+                    .description("Benchmark transaction " + i)
+                    .date(to.minusMinutes(random.nextInt(365 * 24 * 60)))
+                    .category(income ? "Salary" : CATEGORIES[random.nextInt(CATEGORIES.length - 1)])
+                    .type(income ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    .build());
+        }
+        context.getBean(TransactionJdbcRepository.class).batchInsert(userId, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionResponse> entitiesReadWrite() {
+        return readWrite.execute(status -> convert(
+                transactionRepository.findByUserIdAndDateBetween(userId, from, to)));
+    }
+
+    @Benchmark
+    public List<TransactionResponse> entitiesReadOnly() {
+        return readOnly.execute(status -> convert(
+                transactionRepository.findByUserIdAndDateBetween(userId, from, to)));
+    }
+
+    @Benchmark
+    public List<TransactionResponse> projection() {
+        return readOnly.execute(status ->
+                transactionRepository.findResponsesByUserIdAndDateBetween(userId, from, to));
+    }
+
+    private static List<TransactionResponse> convert(List<Transaction> transactions) {
+        List<TransactionResponse> responses = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            responses.add(TransactionResponse.builder()
+                    .id(transaction.getId())
+                    .amount(transaction.getAmount())
+                    .description(transaction.getDescription())
+                    .category(transaction.getCategory())
+                    .type(transaction.getType())
+                    .date(transaction.getDate())
+                    .createdAt(transaction.getCreatedAt())
+                    .updatedAt(transaction.getUpdatedAt())
+                    .build());
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,132 @@
+package com.finance.tracker.benchmark;
+
+import com.finance.tracker.dto.CategoryAnalyticsDTO;
+import com.finance.tracker.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM money aggregation: boxed Double amounts, as the analytics code had them, against long cents
+ *
+ * categoryPercentages pairs the old stream over Double amounts with the primitive loops of
+ * AnalyticsService. sumAmounts totals a month of amounts read from Object[] rows as Number, against
+ * a long[] column as the columnar ledger holds it. Pure CPU, no database:
+ * mvn test -Pbenchmarks -Dbenchmark.args="MoneyAggregation -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    private static final int CATEGORIES = 20;
+
+    @Param({"1000", "100000"})
+    int amounts;
+
+    private List<LegacyCategoryAnalytics> legacyCategories;
+    private List<CategoryAnalyticsDTO> categories;
+    private List<Object[]> legacyRows;
+    private long[] cents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        legacyCategories = new ArrayList<>(CATEGORIES);
+        categories = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            long amount = 1 + random.nextInt(10_000_000);
+            long count = 1 + random.nextInt(500);
+            legacyCategories.add(new LegacyCategoryAnalytics("Category " + i, amount / 100.0, count));
+            categories.add(new CategoryAnalyticsDTO("Category " + i, amount, count));
+        }
+
+        legacyRows = new ArrayList<>(amounts);
+        cents = new long[amounts];
+        for (int i = 0; i < amounts; i++) {
+            long amount = 1 + random.nextInt(100_000);
+            legacyRows.add(new Object[]{"Category " + random.nextInt(CATEGORIES), amount / 100.0});
+            cents[i] = amount;
+        }
+    }
+
+    @Benchmark
+    public List<LegacyCategoryAnalytics> legacyCategoryPercentages() {
+        double total = legacyCategories.stream()
+                .mapToDouble(LegacyCategoryAnalytics::getAmount)
+                .sum();
+        legacyCategories.forEach(result -> result.setPercentage(total > 0 ? (result.getAmount() / total) * 100 : 0.0));
+        return legacyCategories;
+    }
+
+    @Benchmark
+    public List<CategoryAnalyticsDTO> categoryPercentages() {
+        long total = 0;
+        for (CategoryAnalyticsDTO result : categories) {
+            total += result.getAmount();
+        }
+        for (CategoryAnalyticsDTO result : categories) {
+            result.setPercentage(Money.percentage(result.getAmount(), total));
+        }
+        return categories;
+    }
+
+    @Benchmark
+    public double legacySumAmounts() {
+        double total = 0;
+        for (Object[] row : legacyRows) {
+            total += ((Number) row[1]).doubleValue();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumAmounts() {
+        long total = 0;
+        for (long amount : cents) {
+            total += amount;
+        }
+        return total;
+    }
+
+    /**
+     * CategoryAnalyticsDTO as it was, with boxed Double amounts
+     */
+    public static class LegacyCategoryAnalytics {
+        private final String category;
+        private final Double amount;
+        private final Long count;
+        private Double percentage;
+
+        LegacyCategoryAnalytics(String category, Double amount, Long count) {
+            this.category = category;
+            this.amount = amount;
+            this.count = count;
+        }
+
+        Double getAmount() {
+            return amount;
+        }
+
+        void setPercentage(Double percentage) {
+            this.percentage = percentage;
+        }
+    }
+}
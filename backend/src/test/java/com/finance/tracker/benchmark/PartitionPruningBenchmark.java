@@ -0,0 +1,151 @@
+package com.finance.tracker.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Current-month queries on one heap table against monthly range partitions, as history grows
+ *
+ * Each trial builds a copy of the transactions columns the monthly queries read, either as a plain
+ * table or partitioned by month on date like schema.sql does, holding historyMonths months of
+ * history, with the same (user_id, date) index. The queries have the shape of the monthly total
+ * and category breakdown, bounded by a half-open date range the planner can prune on.
+ *
+ * Needs PostgreSQL, see BenchmarkDatabase:
+ * mvn test -Pbenchmarks -Dbenchmark.args="PartitionPruning"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionPruningBenchmark {
+
+    private static final int USERS = 500;
+    private static final int TRANSACTIONS_PER_USER_MONTH = 20;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String TOTAL_SQL =
+            "SELECT COALESCE(SUM(amount), 0) FROM %s " +
+            "WHERE user_id = ? AND type = 'EXPENSE' AND date >= ? AND date < ?";
+
+    private static final String CATEGORIES_SQL =
+            "SELECT category, SUM(amount), COUNT(*) FROM %s " +
+            "WHERE user_id = ? AND type = 'EXPENSE' AND date >= ? AND date < ? GROUP BY category";
+
+    @Param({"12", "60", "120"})
+    int historyMonths;
+
+    @Param({"HEAP", "PARTITIONED"})
+    Layout layout;
+
+    private Connection connection;
+    private String table;
+    private PreparedStatement total;
+    private PreparedStatement categories;
+    private YearMonth currentMonth;
+
+    public enum Layout {
+        HEAP, PARTITIONED
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.connect();
+        table = "bench_transactions_" + layout.name().toLowerCase();
+        currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(historyMonths - 1);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            String columns = "(id UUID NOT NULL, user_id VARCHAR(36) NOT NULL, amount BIGINT NOT NULL, " +
+                    "date TIMESTAMP NOT NULL, category VARCHAR(50) NOT NULL, type VARCHAR(10) NOT NULL";
+            if (layout == Layout.HEAP) {
+                statement.execute("CREATE TABLE " + table + " " + columns + ", PRIMARY KEY (id))");
+            } else {
+                statement.execute("CREATE TABLE " + table + " " + columns + ", PRIMARY KEY (id, date)) " +
+                        "PARTITION BY RANGE (date)");
+                for (YearMonth month = firstMonth; !month.isAfter(currentMonth.plusMonths(1)); month = month.plusMonths(1)) {
+                    statement.execute(String.format("CREATE TABLE %s_p%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                            table, month.format(PARTITION_SUFFIX), table, month.atDay(1), month.plusMonths(1).atDay(1)));
+                }
+            }
+            statement.execute("CREATE INDEX ON " + table + " (user_id, date)");
+
+            // Users are ids of the form bench-user-N; dates fall in the first 28 days of each month
+            statement.execute(String.format(
+                    "INSERT INTO %s (id, user_id, amount, date, category, type) " +
+                    "SELECT gen_random_uuid(), 'bench-user-' || u, 1 + (random() * 100000)::bigint, " +
+                    "DATE '%s' + (m || ' months')::interval + random() * interval '28 days', " +
+                    "'Category ' || (random() * 15)::int, " +
+                    "CASE WHEN random() < 0.1 THEN 'INCOME' ELSE 'EXPENSE' END " +
+                    "FROM generate_series(1, %d) u, generate_series(0, %d) m, generate_series(1, %d) k",
+                    table, firstMonth.atDay(1), USERS, historyMonths - 1, TRANSACTIONS_PER_USER_MONTH));
+            statement.execute("VACUUM ANALYZE " + table);
+        }
+
+        total = connection.prepareStatement(String.format(TOTAL_SQL, table));
+        categories = connection.prepareStatement(String.format(CATEGORIES_SQL, table));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long currentMonthTotal() throws SQLException {
+        bind(total);
+        try (ResultSet rs = total.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public void currentMonthCategories(Blackhole blackhole) throws SQLException {
+        bind(categories);
+        try (ResultSet rs = categories.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getString(1));
+                blackhole.consume(rs.getLong(2));
+                blackhole.consume(rs.getLong(3));
+            }
+        }
+    }
+
+    /**
+     * Helper: A random user and the bounds of the current month
+     */
+    private void bind(PreparedStatement statement) throws SQLException {
+        statement.setString(1, "bench-user-" + (1 + ThreadLocalRandom.current().nextInt(USERS)));
+        statement.setObject(2, currentMonth.atDay(1).atStartOfDay());
+        statement.setObject(3, currentMonth.plusMonths(1).atDay(1).atStartOfDay());
+    }
+}
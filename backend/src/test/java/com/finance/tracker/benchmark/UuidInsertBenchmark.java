@@ -0,0 +1,168 @@
+package com.finance.tracker.benchmark;
+
+import com.finance.tracker.util.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a multi-million-row table keyed by random (v4) against time-ordered (v7) UUIDs
+ *
+ * Each trial preloads a table shaped like transactions, with a native uuid primary key, with
+ * preloadRows rows of one id scheme, then times batched inserts of BATCH rows per transaction the
+ * way TransactionJdbcRepository writes them. The score is rows per second; the primary key index
+ * size after the trial is printed at tear-down. generateRandom and generateTimeOrdered time the id
+ * generation alone, without a database.
+ *
+ * The inserts need PostgreSQL, see BenchmarkDatabase:
+ * mvn test -Pbenchmarks -Dbenchmark.args="UuidInsert"
+ */
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH = 500;
+    private static final int COPY_CHUNK = 100_000;
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public UUID generateRandom() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public UUID generateTimeOrdered() {
+        return TimeOrderedUuid.generate();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 10)
+    public void insertBatch(Table table) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH; i++) {
+            table.insert.setObject(1, table.scheme.next());
+            table.insert.setLong(2, 1 + ThreadLocalRandom.current().nextInt(100_000));
+            table.insert.setTimestamp(3, now);
+            table.insert.setString(4, "bench-user-" + ThreadLocalRandom.current().nextInt(1000));
+            table.insert.addBatch();
+        }
+        table.insert.executeBatch();
+        table.connection.commit();
+    }
+
+    public enum IdScheme {
+        RANDOM_V4 {
+            @Override
+            UUID next() {
+                return UUID.randomUUID();
+            }
+        },
+        TIME_ORDERED_V7 {
+            @Override
+            UUID next() {
+                return TimeOrderedUuid.generate();
+            }
+        };
+
+        abstract UUID next();
+    }
+
+    /**
+     * A preloaded table for one id scheme, dropped after the trial
+     */
+    @State(Scope.Benchmark)
+    public static class Table {
+
+        @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+        IdScheme scheme;
+
+        @Param({"5000000"})
+        int preloadRows;
+
+        Connection connection;
+        PreparedStatement insert;
+        private String name;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException, IOException {
+            connection = BenchmarkDatabase.connect();
+            name = "bench_uuid_" + scheme.name().toLowerCase();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + name);
+                statement.execute("CREATE TABLE " + name + " (id UUID PRIMARY KEY, amount BIGINT NOT NULL, " +
+                        "date TIMESTAMP NOT NULL, user_id VARCHAR(36) NOT NULL)");
+            }
+
+            // COPY the preload in chunks, with ids of the same scheme so the index has its steady-state shape
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            String date = new Timestamp(System.currentTimeMillis()).toString();
+            for (int loaded = 0; loaded < preloadRows; loaded += COPY_CHUNK) {
+                StringBuilder rows = new StringBuilder();
+                for (int i = loaded; i < Math.min(loaded + COPY_CHUNK, preloadRows); i++) {
+                    rows.append(scheme.next()).append('\t')
+                            .append(1 + ThreadLocalRandom.current().nextInt(100_000)).append('\t')
+                            .append(date).append('\t')
+                            .append("bench-user-").append(i % 1000).append('\n');
+                }
+                copy.copyIn("COPY " + name + " (id, amount, date, user_id) FROM STDIN", new StringReader(rows.toString()));
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM ANALYZE " + name);
+            }
+
+            connection.setAutoCommit(false);
+            insert = connection.prepareStatement(
+                    "INSERT INTO " + name + " (id, amount, date, user_id) VALUES (?, ?, ?, ?)");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT count(*), pg_relation_size('" + name + "_pkey') FROM " + name)) {
+                    rs.next();
+                    System.out.printf("%n%s: %d rows, primary key index %d MB%n",
+                            scheme, rs.getLong(1), rs.getLong(2) / (1024 * 1024));
+                }
+                statement.execute("DROP TABLE IF EXISTS " + name);
+            }
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.dto.CategoryAnalyticsDTO;
+import com.finance.tracker.dto.SeriesPointDTO;
+import com.finance.tracker.dto.SeriesResponse.Granularity;
+import com.finance.tracker.dto.StatsDTO;
+import com.finance.tracker.event.TransactionChange;
+import com.finance.tracker.event.TransactionChangedEvent;
+import com.finance.tracker.event.TransactionSnapshot;
+import com.finance.tracker.model.Transaction.TransactionType;
+import com.finance.tracker.repository.TransactionJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks the columnar ledger and engine against the SQL aggregates they stand in for
+ *
+ * The reference answers are computed from the same rows the way the rollup and series queries do
+ * (SUM and COUNT grouped by month, type and category, or by date_trunc bucket), so every figure
+ * must match exactly, in cents.
+ */
+class ColumnarLedgerTest {
+
+    private static final String USER = "user-1";
+    private static final List<String> CATEGORIES = List.of(
+            "Food", "Rent", "Transport", "Salary", "Utilities", "Health", "Travel", "Gifts");
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2023, 1);
+    private static final int MONTHS = 30;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void loadedLedgerMatchesSqlAggregates() {
+        Map<String, TransactionSnapshot> rows = randomRows(2_000);
+        ColumnarLedger ledger = new ColumnarLedger();
+        rows.values().forEach(ledger::upsert);
+
+        assertMatches(ledger, rows);
+    }
+
+    @Test
+    void patchesKeepLedgerInLineWithSqlAggregates() {
+        Map<String, TransactionSnapshot> rows = randomRows(500);
+        ColumnarLedger ledger = new ColumnarLedger();
+        rows.values().forEach(ledger::upsert);
+
+        for (int step = 0; step < 3_000; step++) {
+            List<String> ids = new ArrayList<>(rows.keySet());
+            int action = random.nextInt(3);
+            if (action == 0 || ids.isEmpty()) {
+                TransactionSnapshot created = randomRow(UUID.randomUUID().toString());
+                rows.put(created.getId(), created);
+                ledger.upsert(created);
+            } else if (action == 1) {
+                // Moves the row to another month, type and category, as an edit can
+                TransactionSnapshot updated = randomRow(ids.get(random.nextInt(ids.size())));
+                rows.put(updated.getId(), updated);
+                ledger.upsert(updated);
+            } else {
+                String removed = ids.get(random.nextInt(ids.size()));
+                rows.remove(removed);
+                ledger.remove(removed);
+            }
+            if (step % 500 == 0) {
+                assertMatches(ledger, rows);
+            }
+        }
+        assertMatches(ledger, rows);
+    }
+
+    @Test
+    void removeAndReplayAreIdempotent() {
+        Map<String, TransactionSnapshot> rows = randomRows(50);
+        ColumnarLedger ledger = new ColumnarLedger();
+        rows.values().forEach(ledger::upsert);
+
+        // Replaying changes the load already saw must not count them twice
+        rows.values().forEach(ledger::upsert);
+        String first = rows.keySet().iterator().next();
+        rows.remove(first);
+        ledger.remove(first);
+        ledger.remove(first);
+        ledger.remove(UUID.randomUUID().toString());
+
+        assertMatches(ledger, rows);
+    }
+
+    @Test
+    void patchesThatRaceALoadAreNeitherLostNorCountedTwice() throws Exception {
+        Map<String, TransactionSnapshot> snapshot = randomRows(1_000);
+        List<String> ids = new ArrayList<>(snapshot.keySet());
+
+        // Writes that committed before the load's snapshot: the load returns them, and the patch replays them
+        Map<String, TransactionSnapshot> committed = new LinkedHashMap<>(snapshot);
+        List<TransactionChange> before = new ArrayList<>();
+        TransactionSnapshot seenCreate = randomRow(UUID.randomUUID().toString());
+        TransactionSnapshot seenUpdate = randomRow(ids.get(0));
+        before.add(new TransactionChange(null, seenCreate));
+        before.add(new TransactionChange(snapshot.get(ids.get(0)), seenUpdate));
+        before.add(new TransactionChange(snapshot.get(ids.get(1)), null));
+        committed.put(seenCreate.getId(), seenCreate);
+        committed.put(seenUpdate.getId(), seenUpdate);
+        committed.remove(ids.get(1));
+        Map<String, TransactionSnapshot> loaded = new LinkedHashMap<>(committed);
+
+        // Writes that committed after the load's snapshot: only the patch carries them
+        List<TransactionChange> after = new ArrayList<>();
+        TransactionSnapshot lateCreate = randomRow(UUID.randomUUID().toString());
+        TransactionSnapshot lateUpdate = randomRow(ids.get(2));
+        after.add(new TransactionChange(null, lateCreate));
+        after.add(new TransactionChange(snapshot.get(ids.get(2)), lateUpdate));
+        after.add(new TransactionChange(snapshot.get(ids.get(3)), null));
+        committed.put(lateCreate.getId(), lateCreate);
+        committed.put(lateUpdate.getId(), lateUpdate);
+        committed.remove(ids.get(3));
+
+        CompletableFuture<Void> loadStarted = new CompletableFuture<>();
+        CompletableFuture<Thread> patcher = new CompletableFuture<>();
+        TransactionJdbcRepository repository = mock(TransactionJdbcRepository.class);
+        doAnswer(invocation -> {
+            Consumer<TransactionSnapshot> consumer = invocation.getArgument(1);
+            List<TransactionSnapshot> rows = new ArrayList<>(loaded.values());
+            rows.subList(0, rows.size() / 2).forEach(consumer);
+            loadStarted.complete(null);
+            // Hold the load half way until the patches are waiting on it
+            Thread waiting = patcher.get(5, TimeUnit.SECONDS);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (waiting.getState() == Thread.State.RUNNABLE && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            rows.subList(rows.size() / 2, rows.size()).forEach(consumer);
+            return null;
+        }).when(repository).forEachLedgerRow(eq(USER), any());
+
+        ColumnarAnalyticsEngine engine = new ColumnarAnalyticsEngine(
+                repository, new SimpleMeterRegistry(), true, false, 64, 30);
+        YearMonth current = FIRST_MONTH.plusMonths(MONTHS - 1);
+
+        CompletableFuture<StatsDTO> load = CompletableFuture.supplyAsync(() -> engine.getStats(USER, current));
+        CompletableFuture<Void> patches = CompletableFuture.runAsync(() -> {
+            loadStarted.join();
+            patcher.complete(Thread.currentThread());
+            engine.afterTransactionsCommitted(new TransactionChangedEvent(USER, before));
+            engine.afterTransactionsCommitted(new TransactionChangedEvent(USER, after));
+        });
+        load.get(10, TimeUnit.SECONDS);
+        patches.get(10, TimeUnit.SECONDS);
+
+        assertThat(engine.getStats(USER, current)).isEqualTo(expectedStats(committed, current));
+        for (int offset = 0; offset < MONTHS; offset++) {
+            YearMonth month = FIRST_MONTH.plusMonths(offset);
+            for (TransactionType type : TransactionType.values()) {
+                assertThat(byCategory(engine.getCategoryAnalytics(USER, month, type)))
+                        .isEqualTo(byCategory(expectedBreakdown(committed, month, type)));
+            }
+        }
+        LocalDate from = FIRST_MONTH.atDay(1);
+        LocalDate to = FIRST_MONTH.plusMonths(MONTHS).atDay(1);
+        assertThat(engine.getSeries(USER, TransactionType.EXPENSE, Granularity.MONTH, from, to, null))
+                .isEqualTo(expectedSeries(committed, TransactionType.EXPENSE, Granularity.MONTH, from, to, null));
+    }
+
+    /**
+     * Helper: Compare every figure the ledger serves with the SQL equivalents
+     */
+    private void assertMatches(ColumnarLedger ledger, Map<String, TransactionSnapshot> rows) {
+        for (int offset = -1; offset <= MONTHS; offset++) {
+            YearMonth month = FIRST_MONTH.plusMonths(offset);
+            assertThat(ledger.stats(month)).isEqualTo(expectedStats(rows, month));
+            for (TransactionType type : TransactionType.values()) {
+                assertThat(byCategory(ledger.categoryBreakdown(month, type)))
+                        .isEqualTo(byCategory(expectedBreakdown(rows, month, type)));
+            }
+        }
+        for (Granularity granularity : Granularity.values()) {
+            LocalDate from = granularity.truncate(FIRST_MONTH.atDay(1).plusDays(20));
+            LocalDate to = granularity.plus(from, granularity == Granularity.DAY ? 400 : 40);
+            for (TransactionType type : TransactionType.values()) {
+                assertThat(ledger.series(type, granularity, from, to, null))
+                        .isEqualTo(expectedSeries(rows, type, granularity, from, to, null));
+                assertThat(ledger.series(type, granularity, from, to, "Food"))
+                        .isEqualTo(expectedSeries(rows, type, granularity, from, to, "Food"));
+            }
+            assertThat(ledger.series(TransactionType.EXPENSE, granularity, from, to, "Unknown")).isEmpty();
+        }
+    }
+
+    /**
+     * Same figures as MonthlyRollupRepository.getDashboardStats: all time up to the month, and the month
+     */
+    private static StatsDTO expectedStats(Map<String, TransactionSnapshot> rows, YearMonth current) {
+        long totalIncome = 0;
+        long totalExpenses = 0;
+        long monthlyIncome = 0;
+        long monthlyExpenses = 0;
+        for (TransactionSnapshot row : rows.values()) {
+            YearMonth month = YearMonth.from(row.getDate());
+            if (month.isAfter(current)) {
+                continue;
+            }
+            boolean isCurrent = month.equals(current);
+            if (row.getType() == TransactionType.INCOME) {
+                totalIncome += row.getAmount();
+                monthlyIncome += isCurrent ? row.getAmount() : 0;
+            } else {
+                totalExpenses += row.getAmount();
+                monthlyExpenses += isCurrent ? row.getAmount() : 0;
+            }
+        }
+        return new StatsDTO(totalIncome, totalExpenses, monthlyIncome, monthlyExpenses);
+    }
+
+    /**
+     * Same figures as MonthlyRollupRepository.getCategoryAnalytics: SUM and COUNT per category
+     */
+    private static List<CategoryAnalyticsDTO> expectedBreakdown(Map<String, TransactionSnapshot> rows,
+                                                                YearMonth month, TransactionType type) {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (TransactionSnapshot row : rows.values()) {
+            if (YearMonth.from(row.getDate()).equals(month) && row.getType() == type) {
+                long[] sums = totals.computeIfAbsent(row.getCategory(), c -> new long[2]);
+                sums[0] += row.getAmount();
+                sums[1]++;
+            }
+        }
+        List<CategoryAnalyticsDTO> results = new ArrayList<>();
+        totals.forEach((category, sums) -> results.add(new CategoryAnalyticsDTO(category, sums[0], sums[1])));
+        return results;
+    }
+
+    /**
+     * Same figures as TransactionJdbcRepository.aggregateSeries: SUM and COUNT per date_trunc bucket
+     */
+    private static List<SeriesPointDTO> expectedSeries(Map<String, TransactionSnapshot> rows, TransactionType type,
+                                                       Granularity granularity, LocalDate from, LocalDate to,
+                                                       String category) {
+        Map<LocalDate, long[]> totals = new TreeMap<>();
+        for (TransactionSnapshot row : rows.values()) {
+            LocalDate day = row.getDate().toLocalDate();
+            if (day.isBefore(from) || !day.isBefore(to) || row.getType() != type
+                    || (category != null && !category.equals(row.getCategory()))) {
+                continue;
+            }
+            long[] sums = totals.computeIfAbsent(granularity.truncate(day), d -> new long[2]);
+            sums[0] += row.getAmount();
+            sums[1]++;
+        }
+        List<SeriesPointDTO> results = new ArrayList<>();
+        totals.forEach((start, sums) -> results.add(new SeriesPointDTO(start, sums[0], sums[1])));
+        return results;
+    }
+
+    /**
+     * Helper: Order a breakdown by category, since ties on amount may come back in either order
+     */
+    private static List<CategoryAnalyticsDTO> byCategory(List<CategoryAnalyticsDTO> breakdown) {
+        List<CategoryAnalyticsDTO> sorted = new ArrayList<>(breakdown);
+        sorted.sort(Comparator.comparing(CategoryAnalyticsDTO::getCategory));
+        return sorted;
+    }
+
+    private Map<String, TransactionSnapshot> randomRows(int count) {
+        Map<String, TransactionSnapshot> rows = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            TransactionSnapshot row = randomRow(UUID.randomUUID().toString());
+            rows.put(row.getId(), row);
+        }
+        return rows;
+    }
+
+    private TransactionSnapshot randomRow(String id) {
+        LocalDate firstDay = FIRST_MONTH.atDay(1);
+        int days = (int) (FIRST_MONTH.plusMonths(MONTHS).atDay(1).toEpochDay() - firstDay.toEpochDay());
+        LocalDateTime date = firstDay.plusDays(random.nextInt(days)).atTime(random.nextInt(24), random.nextInt(60));
+        return new TransactionSnapshot(
+                id,
+                1L + random.nextInt(500_000),
+                CATEGORIES.get(random.nextInt(CATEGORIES.size())),
+                random.nextInt(4) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                date
+        );
+    }
+}